@@ -0,0 +1,39 @@
+package im.hibernate.id.generators.standard;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+
+/**
+ * In-memory H2 database shared by the benchmarks, with a connection pool large enough for every
+ * benchmark thread to hold a connection of its own and one for an isolated transaction.
+ *
+ * @author Andy Lian
+ */
+final class StandardSequenceBenchmarkDatabase {
+
+  private StandardSequenceBenchmarkDatabase() {}
+
+  static final String EMBEDDED_URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+  static SessionFactory open(Class<?>... entityClasses) {
+    return open(EMBEDDED_URL, entityClasses);
+  }
+
+  static SessionFactory open(String url, Class<?>... entityClasses) {
+    StandardServiceRegistry serviceRegistry =
+        new StandardServiceRegistryBuilder()
+            .applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+            .applySetting("hibernate.connection.url", url)
+            .applySetting("hibernate.connection.pool_size", "160")
+            .applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+            .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+            .build();
+
+    return new MetadataSources(serviceRegistry)
+        .addAnnotatedClasses(entityClasses)
+        .buildMetadata()
+        .buildSessionFactory();
+  }
+}
@@ -0,0 +1,204 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Latency of {@link StandardSequenceGenerator#generate} against in-memory H2 in each allocation
+ * mode, under 1, 8 and 64 threads. Every operation runs in a transaction of its own, as an insert
+ * of a single entity would.
+ *
+ * @author Andy Lian
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StandardSequenceGeneratorBenchmark {
+
+  @Param private AllocationMode allocationMode;
+
+  private SessionFactory sessionFactory;
+  private StandardSequenceGenerator generator;
+
+  /** Allocation modes of {@link StandardSequence}, each bound to an entity of its own. */
+  public enum AllocationMode {
+    TRANSACTIONAL(TransactionalEntity.class),
+    ISOLATED(IsolatedEntity.class),
+    COMBINING(CombiningEntity.class),
+    POOLED(PooledEntity.class),
+    ADAPTIVE(AdaptiveEntity.class),
+    PREFETCH(PrefetchEntity.class),
+    SINGLE_STATEMENT(SingleStatementEntity.class),
+    COMPARE_AND_SET(CompareAndSetEntity.class),
+    STRIPED(StripedEntity.class),
+    NATIVE_SEQUENCE(NativeSequenceEntity.class);
+
+    private final Class<?> entityClass;
+
+    AllocationMode(Class<?> entityClass) {
+      this.entityClass = entityClass;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    sessionFactory = StandardSequenceBenchmarkDatabase.open(allocationMode.entityClass);
+    generator =
+        (StandardSequenceGenerator)
+            sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(allocationMode.entityClass)
+                .getGenerator();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  /** Session of one benchmark thread. */
+  @State(Scope.Thread)
+  public static class ThreadSession {
+
+    private Session session;
+
+    @Setup(Level.Trial)
+    public void setup(StandardSequenceGeneratorBenchmark benchmark) {
+      session = benchmark.sessionFactory.openSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      session.close();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object generate1(ThreadSession threadSession) {
+    return generate(threadSession.session);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object generate8(ThreadSession threadSession) {
+    return generate(threadSession.session);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Object generate64(ThreadSession threadSession) {
+    return generate(threadSession.session);
+  }
+
+  private Object generate(Session session) {
+    session.beginTransaction();
+    Object value =
+        generator.generate(
+            session.unwrap(SharedSessionContractImplementor.class),
+            null,
+            null,
+            EventType.INSERT);
+    session.getTransaction().commit();
+    return value;
+  }
+
+  @Entity
+  static class TransactionalEntity {
+    @Id
+    @StandardSequence(name = "transactional")
+    private Long id;
+  }
+
+  @Entity
+  static class IsolatedEntity {
+    @Id
+    @StandardSequence(name = "isolated", isolated = true)
+    private Long id;
+  }
+
+  @Entity
+  static class CombiningEntity {
+    @Id
+    @StandardSequence(name = "combining", isolated = true, combining = true)
+    private Long id;
+  }
+
+  @Entity
+  static class PooledEntity {
+    @Id
+    @StandardSequence(name = "pooled", allocationSize = 50)
+    private Long id;
+  }
+
+  @Entity
+  static class AdaptiveEntity {
+    @Id
+    @StandardSequence(name = "adaptive", allocationSize = 50, maxAllocationSize = 1_000)
+    private Long id;
+  }
+
+  @Entity
+  static class PrefetchEntity {
+    @Id
+    @StandardSequence(name = "prefetch", allocationSize = 50, prefetchThreshold = 0.5)
+    private Long id;
+  }
+
+  @Entity
+  static class SingleStatementEntity {
+    @Id
+    @StandardSequence(
+        name = "single-statement",
+        updateMode = StandardSequenceUpdateMode.SINGLE_STATEMENT)
+    private Long id;
+  }
+
+  @Entity
+  static class CompareAndSetEntity {
+    @Id
+    @StandardSequence(
+        name = "compare-and-set",
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET,
+        maxRetries = 1_000)
+    private Long id;
+  }
+
+  @Entity
+  static class StripedEntity {
+    @Id
+    @StandardSequence(name = "striped", stripes = 4)
+    private Long id;
+  }
+
+  @Entity
+  static class NativeSequenceEntity {
+    @Id
+    @StandardSequence(name = "native_sequence", backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    private Long id;
+  }
+}
@@ -0,0 +1,269 @@
+package im.hibernate.id.generators.standard;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * End-to-end throughput and latency of persisting entities with {@link StandardSequence} compared
+ * to Hibernate's {@code SequenceStyleGenerator} and {@code TableGenerator}, each with and without
+ * a pooled optimizer, under 1, 8 and 64 threads. H2 runs embedded in the benchmark JVM or behind
+ * an in-process TCP server.
+ *
+ * <p>{@link InsertCounters} reports the inserts of each iteration along with the statements
+ * touching the sequence table or native sequence, as counted by H2's {@code QUERY_STATISTICS}, so
+ * that round trips per insert can be compared across generators.
+ *
+ * @author Andy Lian
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StandardSequenceInsertBenchmark {
+
+  @Param private IdGenerator idGenerator;
+
+  @Param private Database database;
+
+  private Server server;
+  private SessionFactory sessionFactory;
+  private long roundTripsBefore;
+  private boolean roundTripsClaimed;
+
+  /** Identifier generators compared, each bound to an entity of its own. */
+  public enum IdGenerator {
+    STANDARD(StandardEntity.class, StandardEntity::new, "im_standard_sequence"),
+    STANDARD_POOLED(
+        StandardPooledEntity.class, StandardPooledEntity::new, "im_standard_sequence"),
+    SEQUENCE(SequenceEntity.class, SequenceEntity::new, "insert_sequence"),
+    SEQUENCE_POOLED(
+        SequencePooledEntity.class, SequencePooledEntity::new, "insert_pooled_sequence"),
+    TABLE(TableEntity.class, TableEntity::new, "insert_table_sequences"),
+    TABLE_POOLED(TablePooledEntity.class, TablePooledEntity::new, "insert_pooled_sequences");
+
+    private final Class<?> entityClass;
+    private final Supplier<Object> entityFactory;
+    private final String sequenceObject;
+
+    IdGenerator(Class<?> entityClass, Supplier<Object> entityFactory, String sequenceObject) {
+      this.entityClass = entityClass;
+      this.entityFactory = entityFactory;
+      this.sequenceObject = sequenceObject;
+    }
+  }
+
+  /** Ways of running H2. */
+  public enum Database {
+    EMBEDDED,
+    SERVER
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    String url = StandardSequenceBenchmarkDatabase.EMBEDDED_URL;
+    if (database == Database.SERVER) {
+      server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+      url =
+          "jdbc:h2:tcp://localhost:"
+              + server.getPort()
+              + "/mem:insert-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    }
+    sessionFactory = StandardSequenceBenchmarkDatabase.open(url, idGenerator.entityClass);
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      session.createNativeMutationQuery("SET QUERY_STATISTICS_MAX_ENTRIES 1000").executeUpdate();
+      session.createNativeMutationQuery("SET QUERY_STATISTICS TRUE").executeUpdate();
+      session.getTransaction().commit();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sessionFactory.close();
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public synchronized void beforeIteration() {
+    roundTripsBefore = roundTrips();
+    roundTripsClaimed = false;
+  }
+
+  /**
+   * Round trips of the iteration to the first thread claiming them, and none to the others, as
+   * they are counted for all threads at once.
+   */
+  private synchronized long claimRoundTrips() {
+    if (roundTripsClaimed) {
+      return 0;
+    }
+    roundTripsClaimed = true;
+    return roundTrips() - roundTripsBefore;
+  }
+
+  /** Inserts and sequence round trips of an iteration, summed over the benchmark threads. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class InsertCounters {
+
+    public long inserts;
+    public long roundTrips;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      inserts = 0;
+      roundTrips = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void collect(StandardSequenceInsertBenchmark benchmark) {
+      roundTrips = benchmark.claimRoundTrips();
+    }
+  }
+
+  /** Session of one benchmark thread. */
+  @State(Scope.Thread)
+  public static class ThreadSession {
+
+    private Session session;
+
+    @Setup(Level.Trial)
+    public void setup(StandardSequenceInsertBenchmark benchmark) {
+      session = benchmark.sessionFactory.openSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      session.close();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object persist1(ThreadSession threadSession, InsertCounters counters) {
+    return persist(threadSession.session, counters);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object persist8(ThreadSession threadSession, InsertCounters counters) {
+    return persist(threadSession.session, counters);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Object persist64(ThreadSession threadSession, InsertCounters counters) {
+    return persist(threadSession.session, counters);
+  }
+
+  private Object persist(Session session, InsertCounters counters) {
+    Object entity = idGenerator.entityFactory.get();
+    session.beginTransaction();
+    session.persist(entity);
+    session.getTransaction().commit();
+    session.clear();
+    counters.inserts++;
+    return entity;
+  }
+
+  /** Executions of statements touching the sequence object of the generator so far. */
+  private long roundTrips() {
+    try (Session session = sessionFactory.openSession()) {
+      Number executions =
+          session
+              .createNativeQuery(
+                  "SELECT COALESCE(SUM(EXECUTION_COUNT), 0)"
+                      + " FROM INFORMATION_SCHEMA.QUERY_STATISTICS"
+                      + " WHERE LOWER(SQL_STATEMENT) LIKE :pattern",
+                  Number.class)
+              .setParameter("pattern", "%" + idGenerator.sequenceObject + "%")
+              .uniqueResult();
+      return executions.longValue();
+    }
+  }
+
+  @Entity
+  static class StandardEntity {
+    @Id
+    @StandardSequence(name = "insert-standard")
+    private Long id;
+  }
+
+  @Entity
+  static class StandardPooledEntity {
+    @Id
+    @StandardSequence(name = "insert-standard-pooled", allocationSize = 50)
+    private Long id;
+  }
+
+  @Entity
+  static class SequenceEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insert_sequence")
+    @SequenceGenerator(
+        name = "insert_sequence",
+        sequenceName = "insert_sequence",
+        allocationSize = 1)
+    private Long id;
+  }
+
+  @Entity
+  static class SequencePooledEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "insert_pooled_sequence")
+    @SequenceGenerator(
+        name = "insert_pooled_sequence",
+        sequenceName = "insert_pooled_sequence",
+        allocationSize = 50)
+    private Long id;
+  }
+
+  @Entity
+  static class TableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "insert_table")
+    @TableGenerator(name = "insert_table", table = "insert_table_sequences", allocationSize = 1)
+    private Long id;
+  }
+
+  @Entity
+  static class TablePooledEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "insert_table_pooled")
+    @TableGenerator(
+        name = "insert_table_pooled",
+        table = "insert_pooled_sequences",
+        allocationSize = 50)
+    private Long id;
+  }
+}
@@ -0,0 +1,105 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Latency of one allocation round trip with each statement pattern of {@link
+ * StandardSequenceQuery} against in-memory H2, one transaction per operation.
+ *
+ * @author Andy Lian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StandardSequenceQueryBenchmark {
+
+  private SessionFactory sessionFactory;
+  private StatelessSession session;
+  private SharedSessionContractImplementor sessionImplementor;
+  private StandardSequence config;
+  private StandardSequenceQuery query;
+
+  @Entity
+  static class BenchmarkEntity {
+
+    @Id
+    @StandardSequence(name = "query-benchmark")
+    private Long id;
+  }
+
+  @Setup
+  public void setup() throws NoSuchFieldException {
+    sessionFactory = StandardSequenceBenchmarkDatabase.open(BenchmarkEntity.class);
+    session = sessionFactory.openStatelessSession();
+    sessionImplementor = (SharedSessionContractImplementor) session;
+    config = BenchmarkEntity.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    query =
+        new StandardSequenceQuery(
+            config.sequenceTable(),
+            config.nameColumn(),
+            config.currentValueColumn(),
+            config.createdAtColumn(),
+            config.lastModifiedAtColumn(),
+            config.name(),
+            config.timestamps());
+
+    session.getTransaction().begin();
+    query.insertValue(sessionImplementor, 0);
+    session.getTransaction().commit();
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+    sessionFactory.close();
+  }
+
+  /** {@code SELECT ... FOR UPDATE} followed by {@code UPDATE}. */
+  @Benchmark
+  public long selectForUpdate() {
+    session.getTransaction().begin();
+    long nextValue = query.loadValue(sessionImplementor) + 1;
+    query.updateValue(sessionImplementor, nextValue);
+    session.getTransaction().commit();
+    return nextValue;
+  }
+
+  /** Single {@code UPDATE ... RETURNING}-style statement. */
+  @Benchmark
+  public StandardSequenceState singleStatement() {
+    session.getTransaction().begin();
+    StandardSequenceState nextState = query.increment(sessionImplementor, config);
+    session.getTransaction().commit();
+    return nextState;
+  }
+
+  /** Unlocked {@code SELECT} followed by a conditional {@code UPDATE}. */
+  @Benchmark
+  public boolean compareAndSet() {
+    session.getTransaction().begin();
+    long currentValue = query.readValue(sessionImplementor);
+    boolean written =
+        query.compareAndSetValue(sessionImplementor, currentValue, currentValue + 1, false);
+    session.getTransaction().commit();
+    return written;
+  }
+}
@@ -0,0 +1,94 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of deriving values with {@link StandardSequenceStrategy}, through the state-based and
+ * the primitive contract, and of deriving the blocks the generator reserves: pooled blocks through
+ * {@link StandardSequenceStrategy#lastBlockState} and bulk ranges through {@link
+ * StandardSequenceStrategy#blocks}.
+ *
+ * @author Andy Lian
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StandardSequenceStrategyBenchmark {
+
+  @Param({"ascending", "ascendingCycling", "descendingCycling"})
+  private String sequence;
+
+  private StandardSequenceStrategy strategy;
+  private StandardSequenceState state;
+  private long value;
+  private StandardSequenceState blockState;
+
+  static class Sequences {
+
+    @StandardSequence(name = "ascending")
+    private long ascending;
+
+    @StandardSequence(name = "ascending-cycling", maxValue = 1_000, cycle = true)
+    private long ascendingCycling;
+
+    @StandardSequence(
+        name = "descending-cycling",
+        initialValue = 1,
+        maxValue = 1_000,
+        incrementValue = 3,
+        descending = true,
+        cycle = true)
+    private long descendingCycling;
+  }
+
+  @Setup
+  public void setup() throws NoSuchFieldException {
+    strategy =
+        new StandardSequenceStrategy(
+            Sequences.class.getDeclaredField(sequence).getAnnotation(StandardSequence.class));
+    state = strategy.initialState();
+    value = strategy.initialValue();
+    blockState = strategy.initialState();
+  }
+
+  @Benchmark
+  public StandardSequenceState nextState() {
+    state = strategy.nextState(state);
+    return state;
+  }
+
+  @Benchmark
+  public long nextValue() {
+    value = strategy.nextValue(value);
+    return value;
+  }
+
+  @Benchmark
+  public StandardSequenceState lastBlockState() {
+    StandardSequenceState lastState = strategy.lastBlockState(blockState, 50);
+    blockState = strategy.nextState(lastState);
+    return lastState;
+  }
+
+  @Benchmark
+  public StandardSequenceBlock[] blocks() {
+    StandardSequenceBlock[] blocks = strategy.blocks(blockState, 50);
+    long lastValue = blocks[blocks.length - 1].getLastValue();
+    blockState = strategy.nextState(new StandardSequenceState(lastValue));
+    return blocks;
+  }
+}
@@ -0,0 +1,25 @@
+package im.hibernate.id.generators;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Primitive specialization of {@link SequenceQuery} for sequences of {@code long} values, loading
+ * and writing values without allocating a state object per value.
+ *
+ * @author Andy Lian
+ */
+public interface LongSequenceQuery {
+
+  /**
+   * Value returned by {@link #loadValue(SharedSessionContractImplementor)} when no state exists.
+   * As it is also a valid {@code long} value, callers tell both cases apart through {@link
+   * SequenceQuery#load(SharedSessionContractImplementor)} when they need to.
+   */
+  long NO_VALUE = Long.MIN_VALUE;
+
+  long loadValue(SharedSessionContractImplementor session);
+
+  void insertValue(SharedSessionContractImplementor session, long initialValue);
+
+  void updateValue(SharedSessionContractImplementor session, long nextValue);
+}
@@ -0,0 +1,14 @@
+package im.hibernate.id.generators;
+
+/**
+ * Primitive specialization of {@link SequenceStrategy} for sequences of {@code long} values,
+ * deriving values without allocating a state object per value.
+ *
+ * @author Andy Lian
+ */
+public interface LongSequenceStrategy {
+
+  long initialValue();
+
+  long nextValue(long currentValue);
+}
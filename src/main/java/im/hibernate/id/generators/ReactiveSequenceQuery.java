@@ -0,0 +1,20 @@
+package im.hibernate.id.generators;
+
+import java.util.concurrent.CompletionStage;
+import org.hibernate.reactive.pool.ReactiveConnection;
+
+/**
+ * Non-blocking counterpart of {@link SequenceQuery}, defining operations to load the current
+ * state, insert initial state and update derived next state using a Hibernate Reactive {@link
+ * ReactiveConnection}.
+ *
+ * @author Andy Lian
+ */
+public interface ReactiveSequenceQuery<T> {
+
+  CompletionStage<T> load(ReactiveConnection connection);
+
+  CompletionStage<Void> insert(ReactiveConnection connection, T initialState);
+
+  CompletionStage<T> update(ReactiveConnection connection, T nextState);
+}
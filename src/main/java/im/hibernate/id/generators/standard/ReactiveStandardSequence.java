@@ -0,0 +1,21 @@
+package im.hibernate.id.generators.standard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Standard sequence generator for unique identifier values of entities persisted with Hibernate
+ * Reactive, configured by a nested {@link StandardSequence}.
+ *
+ * @author Andy Lian
+ */
+@IdGeneratorType(StandardSequenceReactiveGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ReactiveStandardSequence {
+
+  StandardSequence value();
+}
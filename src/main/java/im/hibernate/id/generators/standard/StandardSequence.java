@@ -37,4 +37,64 @@ public @interface StandardSequence {
   boolean descending() default false;
 
   boolean cycle() default false;
+
+  StandardSequenceBackend backend() default StandardSequenceBackend.TABLE;
+
+  /** How the {@link #createdAtColumn()} and {@link #lastModifiedAtColumn()} are written. */
+  StandardSequenceTimestampMode timestamps() default StandardSequenceTimestampMode.CLIENT;
+
+  /**
+   * Number of values reserved from the sequence table per database round trip. Values of a
+   * reserved block are handed out from memory, {@code 1} disables pooling.
+   */
+  int allocationSize() default 1;
+
+  /**
+   * Upper bound of the pooled block size. When greater than {@link #allocationSize()}, the block
+   * size adapts between both bounds to how fast blocks are drained. {@code 0} keeps it fixed.
+   */
+  int maxAllocationSize() default 0;
+
+  /**
+   * Whether values are allocated in their own short transaction instead of the caller's, so the
+   * sequence row lock is released right away. Values allocated for a transaction that is later
+   * rolled back are not reused. Pooled allocation is always isolated.
+   */
+  boolean isolated() default false;
+
+  /**
+   * Whether concurrent allocations of an {@link #isolated()} sequence are combined: the first
+   * waiting thread reserves the values of all threads queued behind it in one isolated transaction
+   * and hands each of them its value. Requires {@link #isolated()} and an {@link
+   * #allocationSize()} of {@code 1}.
+   */
+  boolean combining() default false;
+
+  StandardSequenceUpdateMode updateMode() default StandardSequenceUpdateMode.SELECT_FOR_UPDATE;
+
+  /**
+   * Maximum number of retries of an allocation whose {@link
+   * StandardSequenceUpdateMode#COMPARE_AND_SET} update lost to a concurrent allocation, and of an
+   * isolated allocation whose transaction failed on a lock timeout or deadlock. Allocations in the
+   * caller's transaction are not retried on lock contention.
+   */
+  int maxRetries() default 10;
+
+  /**
+   * Share of a pooled block, from 0 (inclusive) to 1 (exclusive), handed out before the next block
+   * is reserved in the background. {@code 0} disables prefetching.
+   */
+  double prefetchThreshold() default 0;
+
+  /**
+   * Number of rows the sequence is split into, to spread the contention on a single row. Stripe
+   * {@code i} owns the values {@code i} steps away from the first value and advances by {@code
+   * stripes} steps at a time, so values stay unique but are no longer globally ordered. Each
+   * allocation picks a stripe by the current thread. {@code 1} disables striping.
+   *
+   * <p>Striped rows are named {@code name#i} in the sequence table and never advanced with {@link
+   * StandardSequenceUpdateMode#SINGLE_STATEMENT}, which falls back to {@link
+   * StandardSequenceUpdateMode#SELECT_FOR_UPDATE}.
+   */
+  int stripes() default 1;
 }
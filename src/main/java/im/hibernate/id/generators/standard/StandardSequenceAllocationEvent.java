@@ -0,0 +1,161 @@
+package im.hibernate.id.generators.standard;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event of one database allocation of a {@link StandardSequenceGenerator},
+ * disabled by default. Enable it with {@code -XX:StartFlightRecording:settings=<file>} or {@code
+ * Recording#enable(String)} under the name {@value #NAME}.
+ *
+ * <p>The statements of an allocation report their time through the {@link #recorder recorder} of
+ * the event, which the generator scopes its queries to for the allocation: loads locking the row,
+ * {@code SELECT ... FOR UPDATE}, count as lock wait, and inserts and updates as execution.
+ * Statements locking the row themselves, as with {@link
+ * StandardSequenceUpdateMode#SINGLE_STATEMENT} or native sequences, count as execution only, as
+ * JDBC does not tell their lock wait apart. While no recording has the event enabled, an
+ * allocation costs one check of the cached {@link EventType} and shares the {@link #DISABLED}
+ * event, and its statements report to the recorders of the queries directly.
+ *
+ * @author Andy Lian
+ */
+@Name(StandardSequenceAllocationEvent.NAME)
+@Label("Standard Sequence Allocation")
+@Category({"Hibernate", "Identifier Generators"})
+@Description("Values of a standard sequence reserved in one database allocation")
+@Enabled(false)
+final class StandardSequenceAllocationEvent extends Event {
+
+  static final String NAME = "im.hibernate.id.StandardSequenceAllocation";
+
+  /** Event shared by the allocations taking place while no recording has the event enabled. */
+  static final StandardSequenceAllocationEvent DISABLED = new StandardSequenceAllocationEvent();
+
+  @Label("Sequence")
+  String sequenceName;
+
+  @Label("Table")
+  String tableName;
+
+  @Label("Reserved Values")
+  @Description("Values reserved by the allocation, 0 when it failed")
+  long reserved;
+
+  @Label("Lock Wait")
+  @Description("Time spent in statements locking the sequence row")
+  @Timespan
+  long lockWait;
+
+  @Label("Execution")
+  @Description("Time spent in statements writing the sequence row")
+  @Timespan
+  long execution;
+
+  @Label("Wrapped")
+  @Description("Whether the allocation cycled back to the initial value")
+  boolean wrapped;
+
+  /**
+   * Begins the event of an allocation of the sequence {@code config}, to be ended by {@link
+   * #finish()} once the allocation completed or failed, or returns {@link #DISABLED} while no
+   * recording has the event enabled.
+   */
+  static StandardSequenceAllocationEvent begin(StandardSequence config) {
+    if (!Type.EVENT_TYPE.isEnabled()) {
+      return DISABLED;
+    }
+    StandardSequenceAllocationEvent event = new StandardSequenceAllocationEvent();
+    event.sequenceName = config.name();
+    event.tableName =
+        config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE ? null : config.sequenceTable();
+    event.begin();
+    return event;
+  }
+
+  /** Whether this event records an allocation, that is unless {@link #DISABLED}. */
+  boolean recording() {
+    return this != DISABLED;
+  }
+
+  /** Ends and commits this event, if recording. */
+  void finish() {
+    if (recording()) {
+      commit();
+    }
+  }
+
+  /** Sets the number of values the allocation reserved. */
+  void reserved(long count) {
+    if (recording()) {
+      reserved = count;
+    }
+  }
+
+  /** Marks the allocation as cycling back. */
+  void wrapped() {
+    if (recording()) {
+      wrapped = true;
+    }
+  }
+
+  /**
+   * Recorder adding the time of the statements of the allocation to this event, and reporting them
+   * to {@code delegate}, or {@code delegate} itself unless recording.
+   *
+   * @param locking whether loads lock the row, that is unless {@link
+   *     StandardSequenceUpdateMode#COMPARE_AND_SET}
+   */
+  StandardSequenceRecorder recorder(StandardSequenceRecorder delegate, boolean locking) {
+    return recording() ? new Recorder(delegate, locking, this) : delegate;
+  }
+
+  /** Type of the event, looked up once this class is initialized. */
+  private static final class Type {
+
+    private static final EventType EVENT_TYPE =
+        EventType.getEventType(StandardSequenceAllocationEvent.class);
+  }
+
+  private record Recorder(
+      StandardSequenceRecorder delegate, boolean locking, StandardSequenceAllocationEvent event)
+      implements StandardSequenceRecorder {
+
+    @Override
+    public long start() {
+      return System.nanoTime();
+    }
+
+    @Override
+    public void record(Operation operation, long start) {
+      delegate.record(operation, start);
+
+      long elapsed = System.nanoTime() - start;
+      if (locking && operation == Operation.LOAD) {
+        event.lockWait += elapsed;
+      } else {
+        event.execution += elapsed;
+      }
+    }
+
+    @Override
+    public void written(String name, long currentValue) {
+      delegate.written(name, currentValue);
+    }
+
+    @Override
+    public void handedOut(long count) {
+      delegate.handedOut(count);
+    }
+
+    @Override
+    public void retried() {
+      delegate.retried();
+    }
+  }
+}
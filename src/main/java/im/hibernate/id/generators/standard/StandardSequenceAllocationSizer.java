@@ -0,0 +1,117 @@
+package im.hibernate.id.generators.standard;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.apache.commons.lang3.Validate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides the size of the next pooled block of a {@link StandardSequence}.
+ *
+ * <p>The size starts at {@link StandardSequence#allocationSize()} and, when {@link
+ * StandardSequence#maxAllocationSize()} is greater, doubles while blocks are drained in less than
+ * half the {@code targetRefillInterval} and halves while they last more than twice as long. The
+ * size never grows past the values remaining before the sequence cycles or is exhausted. It can be
+ * changed at runtime with {@link #resize(int)}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceAllocationSizer {
+
+  static final Duration DEFAULT_TARGET_REFILL_INTERVAL = Duration.ofSeconds(1);
+
+  private final String name;
+  private int minAllocationSize;
+  private int maxAllocationSize;
+  private final long targetRefillIntervalNanos;
+  private final LongSupplier nanoClock;
+
+  private int allocationSize;
+  private boolean refilled;
+  private long lastRefillNanos;
+
+  StandardSequenceAllocationSizer(StandardSequence config) {
+    this(
+        config.name(),
+        config.allocationSize(),
+        Math.max(config.allocationSize(), config.maxAllocationSize()),
+        DEFAULT_TARGET_REFILL_INTERVAL,
+        System::nanoTime);
+  }
+
+  StandardSequenceAllocationSizer(
+      String name,
+      int minAllocationSize,
+      int maxAllocationSize,
+      Duration targetRefillInterval,
+      LongSupplier nanoClock) {
+    Validate.isTrue(minAllocationSize > 0, "minAllocationSize must be greater than 0");
+    Validate.isTrue(
+        maxAllocationSize >= minAllocationSize,
+        "maxAllocationSize must not be less than minAllocationSize");
+    this.name = name;
+    this.minAllocationSize = minAllocationSize;
+    this.maxAllocationSize = maxAllocationSize;
+    this.targetRefillIntervalNanos = targetRefillInterval.toNanos();
+    this.nanoClock = Validate.notNull(nanoClock, "nanoClock cannot be null");
+    this.allocationSize = minAllocationSize;
+  }
+
+  synchronized boolean isAdaptive() {
+    return maxAllocationSize > minAllocationSize;
+  }
+
+  /** Size of the last block reserved, or of the first one when none was reserved yet. */
+  synchronized int allocationSize() {
+    return allocationSize;
+  }
+
+  /**
+   * Changes the size of the next blocks. An adaptive size keeps adapting from {@code
+   * allocationSize}, within its bounds; a fixed size is replaced.
+   *
+   * @return the size of the next blocks
+   */
+  synchronized int resize(int allocationSize) {
+    Validate.isTrue(allocationSize > 0, "allocationSize must be greater than 0");
+
+    if (isAdaptive()) {
+      this.allocationSize =
+          Math.min(Math.max(allocationSize, minAllocationSize), maxAllocationSize);
+    } else {
+      this.minAllocationSize = allocationSize;
+      this.maxAllocationSize = allocationSize;
+      this.allocationSize = allocationSize;
+    }
+
+    log.info("Resized allocationSize={} for sequence '{}'", this.allocationSize, name);
+    return this.allocationSize;
+  }
+
+  /**
+   * Returns the size of the block about to be reserved, given the values remaining before the
+   * sequence cycles or is exhausted.
+   */
+  synchronized int nextAllocationSize(long remainingValues) {
+    if (!isAdaptive()) {
+      return allocationSize;
+    }
+
+    long now = nanoClock.getAsLong();
+    if (refilled) {
+      long elapsed = now - lastRefillNanos;
+      if (elapsed < targetRefillIntervalNanos / 2) {
+        long grownSize = Math.min(Math.min(2L * allocationSize, maxAllocationSize), remainingValues);
+        allocationSize = (int) Math.max(allocationSize, grownSize);
+      } else if (elapsed > targetRefillIntervalNanos * 2) {
+        allocationSize = Math.max(allocationSize / 2, minAllocationSize);
+      }
+    }
+    refilled = true;
+    lastRefillNanos = now;
+
+    log.debug("Next allocationSize={} for sequence '{}'", allocationSize, name);
+    return allocationSize;
+  }
+}
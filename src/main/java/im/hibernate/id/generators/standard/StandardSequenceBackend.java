@@ -0,0 +1,21 @@
+package im.hibernate.id.generators.standard;
+
+/**
+ * Where the values of a {@link StandardSequence} are kept.
+ *
+ * @author Andy Lian
+ */
+public enum StandardSequenceBackend {
+
+  /** A row per sequence name in {@link StandardSequence#sequenceTable()}. */
+  TABLE,
+
+  /**
+   * A native database sequence named after {@link StandardSequence#name()}, created with {@code
+   * initialValue}, {@code maxValue}, {@code incrementValue}, {@code descending} and {@code cycle}
+   * mapped onto its {@code START WITH}, {@code MINVALUE}, {@code MAXVALUE}, {@code INCREMENT BY}
+   * and {@code CYCLE} options, and {@code allocationSize} onto its {@code CACHE}. Only applies to
+   * dialects supporting sequences.
+   */
+  NATIVE_SEQUENCE
+}
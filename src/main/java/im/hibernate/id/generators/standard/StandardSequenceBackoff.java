@@ -0,0 +1,31 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exponential backoff with full jitter between retried sequence allocations: the pause before
+ * retry {@code n} is drawn uniformly from zero up to {@code BASE_DELAY * 2^n}, capped at {@code
+ * MAX_DELAY}, so that allocations conflicting once do not conflict again in lockstep.
+ *
+ * @author Andy Lian
+ */
+final class StandardSequenceBackoff {
+
+  static final long BASE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  static final long MAX_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private StandardSequenceBackoff() {}
+
+  /** Upper bound of the pause before the retry following {@code attempt}, counted from 0. */
+  static long maxDelayNanos(int attempt) {
+    return attempt >= 20 ? MAX_DELAY_NANOS : Math.min(BASE_DELAY_NANOS << attempt, MAX_DELAY_NANOS);
+  }
+
+  /** Parks the current thread before the retry following {@code attempt}, counted from 0. */
+  static void pause(int attempt) {
+    LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxDelayNanos(attempt) + 1));
+  }
+}
@@ -0,0 +1,21 @@
+package im.hibernate.id.generators.standard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents a block of sequence values reserved from the sequence table, from {@code firstValue}
+ * to {@code lastValue} inclusive.
+ *
+ * @author Andy Lian
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StandardSequenceBlock {
+
+  private final long firstValue;
+
+  private final long lastValue;
+}
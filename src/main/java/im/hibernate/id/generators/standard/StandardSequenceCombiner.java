@@ -0,0 +1,99 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Combines concurrent allocations of single values into batched reservations.
+ *
+ * <p>Each caller queues a request and waits for the leader lock. The caller holding the lock is the
+ * leader: unless an earlier leader already served its request, it takes the requests queued so
+ * far, reserves as many values in one call and hands them out in queue order, so values stay
+ * tightly packed. Followers find their request served once they get the lock. The lock is a {@link
+ * ReentrantLock} rather than a {@code synchronized} block, so that virtual threads waiting on the
+ * database are not pinned to their carrier thread.
+ *
+ * <p>When a combined reservation fails, the leader reserves its own value alone and the followers
+ * retry as leaders of their own, so that a batch failing near the bound of a non-cycling sequence
+ * does not fail values that would fit.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceCombiner {
+
+  static final int MAX_BATCH_SIZE = 1024;
+
+  private final BiFunction<SharedSessionContractImplementor, Integer, long[]> reserve;
+  private final ReentrantLock leaderLock = new ReentrantLock();
+  private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+
+  StandardSequenceCombiner(BiFunction<SharedSessionContractImplementor, Integer, long[]> reserve) {
+    this.reserve = Validate.notNull(reserve, "reserve cannot be null");
+  }
+
+  long next(SharedSessionContractImplementor session) {
+    Request request = new Request();
+    pending.add(request);
+
+    leaderLock.lock();
+    try {
+      if (!request.served) {
+        lead(session, request);
+      }
+      return request.value;
+    } finally {
+      leaderLock.unlock();
+    }
+  }
+
+  private void lead(SharedSessionContractImplementor session, Request leader) {
+    List<Request> batch = new ArrayList<>();
+    batch.add(leader);
+
+    Request follower;
+    while (batch.size() < MAX_BATCH_SIZE && (follower = pending.poll()) != null) {
+      // the leader's own request, or one served by an earlier leader that could not reach it
+      if (follower != leader && !follower.served) {
+        batch.add(follower);
+      }
+    }
+
+    try {
+      long[] values = reserve.apply(session, batch.size());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).serve(values[i]);
+      }
+
+      if (log.isDebugEnabled()) {
+        log.debug("Reserved {} combined values", batch.size());
+      }
+
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        throw e;
+      }
+
+      log.warn("Failed to reserve {} combined values, retrying alone", batch.size(), e);
+      leader.serve(reserve.apply(session, 1)[0]);
+    }
+  }
+
+  /** Request for one value, guarded by the leader lock. */
+  private static final class Request {
+
+    private long value;
+    private boolean served;
+
+    private void serve(long value) {
+      this.value = value;
+      this.served = true;
+    }
+  }
+}
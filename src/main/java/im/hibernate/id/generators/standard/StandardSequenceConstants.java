@@ -1,7 +1,7 @@
 package im.hibernate.id.generators.standard;
 
 /**
- * Centralized {@link StandardSequence} schema-related constants.
+ * Centralized {@link StandardSequence} schema-related constants and settings.
  *
  * @author Andy Lian
  */
@@ -18,4 +18,10 @@ public final class StandardSequenceConstants {
   public static final String CREATED_AT_COLUMN = "created_at";
 
   public static final String LAST_MODIFIED_AT_COLUMN = "last_modified_at";
+
+  /**
+   * Setting registering a {@link StandardSequenceMXBean} per generator, which generators only
+   * collect statistics for when set to {@code true}.
+   */
+  public static final String JMX_ENABLED = "im.hibernate.id.jmx_enabled";
 }
@@ -0,0 +1,209 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the reservations of several {@link StandardSequenceGenerator}s into one round trip per
+ * sequence table, for transactions inserting entities of many types.
+ *
+ * <p>The rows of all sequences sharing a table are loaded and locked with one {@code SELECT ...
+ * WHERE name IN (...) FOR UPDATE}, advanced in memory by the {@link StandardSequenceStrategy} of
+ * each sequence, and written back with one {@code UPDATE ... WHERE name IN (...)}. Missing rows
+ * are initialized one by one, as they are only missing once. Reservations follow the same rules
+ * as {@link StandardSequenceGenerator#reserve(SharedSessionContractImplementor, int)}: they run in
+ * the caller's transaction unless isolated or pooled, and native sequences are still queried once
+ * per value. Isolated reservations failing on lock contention are retried in a new transaction by
+ * the {@link StandardSequenceRetryPolicy} of the first generator of the table.
+ *
+ * <p>The coordinator is an explicit API for callers reserving values of several sequences up
+ * front. Identifiers generated on persist are still allocated by each generator on its own, as
+ * Hibernate asks for them one entity at a time.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceCoordinator {
+
+  private final StandardSequenceIsolationDelegate isolationDelegate;
+
+  public StandardSequenceCoordinator() {
+    this(new StandardSequenceIsolationDelegate());
+  }
+
+  StandardSequenceCoordinator(StandardSequenceIsolationDelegate isolationDelegate) {
+    this.isolationDelegate =
+        Validate.notNull(isolationDelegate, "isolationDelegate cannot be null");
+  }
+
+  /**
+   * Reserves the given number of consecutive values of each generator's sequence. Generators
+   * sharing a sequence name are served one after another, in the iteration order of {@code
+   * counts}.
+   *
+   * @return the reserved values by generator, in the iteration order of {@code counts}
+   * @throws IdentifierGenerationException if a non-cycling sequence is exhausted before its count,
+   *     or if a count exceeds the values of one cycle
+   */
+  public Map<StandardSequenceGenerator, long[]> reserve(
+      SharedSessionContractImplementor session, Map<StandardSequenceGenerator, Integer> counts) {
+    Validate.notNull(session, "session cannot be null");
+    Validate.notEmpty(counts, "counts cannot be empty");
+
+    Map<StandardSequenceGenerator, long[]> values = new LinkedHashMap<>();
+    Map<Table, List<Allocation>> tables = new LinkedHashMap<>();
+    counts.forEach(
+        (generator, count) -> {
+          Validate.notNull(generator, "generator cannot be null");
+          Validate.isTrue(count != null && count > 0, "count must be greater than 0");
+
+          // placeholder keeping the iteration order of counts
+          values.put(generator, null);
+          StandardSequence config = generator.config();
+          if (config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE) {
+            values.put(generator, generator.reserve(session, count));
+          } else {
+            tables
+                .computeIfAbsent(Table.of(config), table -> new ArrayList<>())
+                .add(new Allocation(generator, generator.stripe(), count));
+          }
+        });
+
+    tables.forEach(
+        (table, allocations) -> {
+          log.debug(
+              "Reserving values for {} sequences on table '{}'",
+              allocations.size(),
+              table.tableName());
+          if (table.isolated()) {
+            allocations
+                .get(0)
+                .generator()
+                .retryPolicy()
+                .execute(
+                    () ->
+                        isolationDelegate.execute(
+                            session,
+                            isolatedSession -> reserve(isolatedSession, allocations, values)));
+          } else {
+            reserve(session, allocations, values);
+          }
+          // counted once the reservation succeeded, not on every retried attempt
+          for (Allocation allocation : allocations) {
+            allocation.generator().recorder().handedOut(allocation.count());
+          }
+        });
+    return values;
+  }
+
+  private Void reserve(
+      SharedSessionContractImplementor session,
+      List<Allocation> allocations,
+      Map<StandardSequenceGenerator, long[]> values) {
+    Map<String, List<Allocation>> rows = new TreeMap<>();
+    for (Allocation allocation : allocations) {
+      rows.computeIfAbsent(allocation.stripe().query().name(), name -> new ArrayList<>())
+          .add(allocation);
+    }
+
+    StandardSequenceQuery tableQuery = allocations.get(0).stripe().query();
+    Map<String, Long> currentValues = tableQuery.loadValues(session, rows.keySet());
+    Map<String, Long> lastValues = new LinkedHashMap<>();
+
+    for (Map.Entry<String, List<Allocation>> row : rows.entrySet()) {
+      String name = row.getKey();
+      StandardSequenceQuery rowQuery = row.getValue().get(0).stripe().query();
+      Long currentValue = currentValues.get(name);
+
+      if (currentValue == null) {
+        long lastValue = allocate(row.getValue(), null, values);
+        if (rowQuery.insertIfAbsent(session, new StandardSequenceState(lastValue))) {
+          log.debug("Reserved initial values using sequence '{}'", name);
+          continue;
+        }
+        currentValue = reload(session, rowQuery, name).getCurrentValue();
+      }
+
+      lastValues.put(
+          name, allocate(row.getValue(), new StandardSequenceState(currentValue), values));
+    }
+
+    tableQuery.updateValues(session, lastValues);
+    // reported to the recorder of the generator owning each row, not to the first of the table
+    lastValues.forEach(
+        (name, lastValue) -> rows.get(name).get(0).stripe().query().written(lastValue));
+    log.debug("Reserved values using sequences {}", rows.keySet());
+    return null;
+  }
+
+  /**
+   * Serves the allocations of one row after {@code currentState}, or from the initial value when
+   * the row has no state yet.
+   *
+   * @return the last value served, to be written back to the row
+   */
+  private static long allocate(
+      List<Allocation> allocations,
+      StandardSequenceState currentState,
+      Map<StandardSequenceGenerator, long[]> values) {
+    StandardSequenceState state = currentState;
+    for (Allocation allocation : allocations) {
+      StandardSequenceStrategy strategy = allocation.stripe().strategy();
+      StandardSequenceState firstState =
+          state == null ? strategy.initialState() : strategy.nextState(state);
+
+      long[] allocated = strategy.values(firstState, allocation.count());
+      values.put(allocation.generator(), allocated);
+      state = new StandardSequenceState(allocated[allocated.length - 1]);
+    }
+    return state.getCurrentValue();
+  }
+
+  private static StandardSequenceState reload(
+      SharedSessionContractImplementor session, StandardSequenceQuery rowQuery, String name) {
+    log.debug("Sequence '{}' initialized concurrently, reloading its state", name);
+
+    StandardSequenceState currentState = rowQuery.load(session);
+    if (currentState == null) {
+      String msg = "Failed to load sequence state for [" + name + "] after initializing";
+      log.error(msg);
+      throw new IllegalStateException(msg);
+    }
+    return currentState;
+  }
+
+  /**
+   * Sequence table the reservations of several generators can be coalesced on, as long as they
+   * render the same statements.
+   */
+  private record Table(
+      String tableName,
+      String nameColumn,
+      String currentValueColumn,
+      String createdAtColumn,
+      String lastModifiedAtColumn,
+      StandardSequenceTimestampMode timestamps,
+      boolean isolated) {
+
+    static Table of(StandardSequence config) {
+      return new Table(
+          config.sequenceTable(),
+          config.nameColumn(),
+          config.currentValueColumn(),
+          config.createdAtColumn(),
+          config.lastModifiedAtColumn(),
+          config.timestamps(),
+          config.isolated() || config.allocationSize() > 1);
+    }
+  }
+
+  private record Allocation(
+      StandardSequenceGenerator generator, StandardSequenceGenerator.Stripe stripe, int count) {}
+}
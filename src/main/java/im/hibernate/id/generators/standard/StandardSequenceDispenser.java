@@ -0,0 +1,267 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lock-free dispenser of values from a reserved {@link StandardSequenceBlock}.
+ *
+ * <p>Values are claimed with a compare-and-set over the position within the current range, so
+ * concurrent threads draw values without locking. Only the thread that finds the range exhausted
+ * refills it, while threads arriving meanwhile wait for the new range. Refills are guarded by a
+ * {@link ReentrantLock} rather than a {@code synchronized} block, so that virtual threads waiting
+ * on the database are not pinned to their carrier thread.
+ *
+ * <p>With a {@code prefetchThreshold} greater than 0, the thread claiming the value at that share
+ * of the current range reserves the next block on a virtual thread, which the refill then takes
+ * over instead of reserving it synchronously.
+ *
+ * <p>{@link #nextAsync(Supplier)} serves non-blocking callers from the same range: values are still
+ * claimed in memory, and only the refill of an exhausted range completes asynchronously.
+ *
+ * <p>{@link #flush()} discards the values left in memory, so that the next value is drawn from a
+ * new block.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceDispenser {
+
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("standard-sequence-prefetch-", 0).factory());
+
+  private final long incrementValue;
+  private final boolean descending;
+  private final double prefetchThreshold;
+  private final Function<SharedSessionContractImplementor, StandardSequenceBlock> refill;
+  private final Function<SessionFactoryImplementor, StandardSequenceBlock> prefetch;
+  private final ReentrantLock refillLock = new ReentrantLock();
+  private final AtomicReference<CompletableFuture<StandardSequenceBlock>> prefetched =
+      new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<Void>> pendingRefill = new AtomicReference<>();
+
+  private volatile Range range = Range.EMPTY;
+
+  /**
+   * Creates a dispenser only served through {@link #nextAsync(Supplier)}, which has no blocking
+   * {@code refill}.
+   */
+  StandardSequenceDispenser(long incrementValue, boolean descending) {
+    this(incrementValue, descending, 0, null, null);
+  }
+
+  StandardSequenceDispenser(
+      long incrementValue,
+      boolean descending,
+      Function<SharedSessionContractImplementor, StandardSequenceBlock> refill) {
+    this(incrementValue, descending, 0, Validate.notNull(refill, "refill cannot be null"), null);
+  }
+
+  /**
+   * Creates a dispenser refilled by {@code refill}, or only served through {@link
+   * #nextAsync(Supplier)} when it is {@code null}.
+   */
+  StandardSequenceDispenser(
+      long incrementValue,
+      boolean descending,
+      double prefetchThreshold,
+      Function<SharedSessionContractImplementor, StandardSequenceBlock> refill,
+      Function<SessionFactoryImplementor, StandardSequenceBlock> prefetch) {
+    Validate.isTrue(incrementValue > 0, "incrementValue must be greater than 0");
+    Validate.isTrue(
+        prefetchThreshold >= 0 && prefetchThreshold < 1,
+        "prefetchThreshold must be between 0 (inclusive) and 1 (exclusive)");
+    Validate.isTrue(
+        prefetchThreshold == 0 || prefetch != null,
+        "prefetch cannot be null when prefetchThreshold is greater than 0");
+    this.incrementValue = incrementValue;
+    this.descending = descending;
+    this.prefetchThreshold = prefetchThreshold;
+    this.refill = refill;
+    this.prefetch = prefetch;
+  }
+
+  long next(SharedSessionContractImplementor session) {
+    Validate.validState(refill != null, "Dispenser without refill is only served asynchronously");
+    while (true) {
+      Range current = range;
+      long position = current.claim();
+      if (position >= 0) {
+        if (position == current.prefetchPosition) {
+          prefetchNextBlock(session.getFactory());
+        }
+        return current.valueAt(position);
+      }
+
+      refillLock.lock();
+      try {
+        if (range == current) {
+          range = newRange(nextBlock(session));
+        }
+      } finally {
+        refillLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #next(SharedSessionContractImplementor)}. A value left in the
+   * current range completes immediately; otherwise the returned stage completes once {@code
+   * refill} reserved the next block, which callers arriving meanwhile share.
+   */
+  CompletionStage<Long> nextAsync(Supplier<CompletionStage<StandardSequenceBlock>> refill) {
+    Range current = range;
+    long position = current.claim();
+    if (position >= 0) {
+      return CompletableFuture.completedFuture(current.valueAt(position));
+    }
+
+    CompletableFuture<Void> pending = new CompletableFuture<>();
+    CompletableFuture<Void> refilling = pendingRefill.compareAndExchange(null, pending);
+    if (refilling == null) {
+      refilling = pending;
+      if (range == current) {
+        refillAsync(refill, pending);
+      } else {
+        // refilled since the claim above
+        pendingRefill.set(null);
+        pending.complete(null);
+      }
+    }
+    return refilling.thenCompose(ignored -> nextAsync(refill));
+  }
+
+  private void refillAsync(
+      Supplier<CompletionStage<StandardSequenceBlock>> refill, CompletableFuture<Void> pending) {
+    CompletionStage<StandardSequenceBlock> block;
+    try {
+      block = refill.get();
+    } catch (RuntimeException e) {
+      block = CompletableFuture.failedFuture(e);
+    }
+
+    block.whenComplete(
+        (nextBlock, failure) -> {
+          if (failure == null) {
+            range = newRange(nextBlock);
+          }
+          pendingRefill.set(null);
+          if (failure == null) {
+            pending.complete(null);
+          } else {
+            pending.completeExceptionally(failure);
+          }
+        });
+  }
+
+  /** Values left in the current range, or {@code null} when it is exhausted. */
+  StandardSequenceBlock remainingBlock() {
+    Range current = range;
+    long position = current.position.get();
+    if (position >= current.size) {
+      return null;
+    }
+    return new StandardSequenceBlock(current.valueAt(position), current.valueAt(current.size - 1));
+  }
+
+  /**
+   * Discards the values left in the current range and the prefetched block, if any. The values
+   * discarded are never handed out, as if the application restarted.
+   */
+  void flush() {
+    refillLock.lock();
+    try {
+      range = Range.EMPTY;
+      prefetched.set(null);
+    } finally {
+      refillLock.unlock();
+    }
+    log.debug("Flushed cached values");
+  }
+
+  private void prefetchNextBlock(SessionFactoryImplementor sessionFactory) {
+    CompletableFuture<StandardSequenceBlock> pending = new CompletableFuture<>();
+    if (prefetched.compareAndSet(null, pending)) {
+      log.debug("Prefetching next block");
+      pending.completeAsync(() -> prefetch.apply(sessionFactory), PREFETCH_EXECUTOR);
+    }
+  }
+
+  private StandardSequenceBlock nextBlock(SharedSessionContractImplementor session) {
+    CompletableFuture<StandardSequenceBlock> pending = prefetched.getAndSet(null);
+    if (pending != null) {
+      try {
+        return pending.join();
+      } catch (CompletionException e) {
+        log.warn("Failed to prefetch next block, reserving it synchronously", e.getCause());
+      }
+    }
+    return refill.apply(session);
+  }
+
+  private Range newRange(StandardSequenceBlock block) {
+    long distance =
+        descending
+            ? block.getFirstValue() - block.getLastValue()
+            : block.getLastValue() - block.getFirstValue();
+    long size = Long.divideUnsigned(distance, incrementValue) + 1;
+    long step = descending ? -incrementValue : incrementValue;
+    long prefetchPosition =
+        prefetchThreshold > 0 ? Math.min(size - 1, (long) (size * prefetchThreshold)) : -1;
+
+    log.debug("Dispensing {} values from {}", size, block);
+    return new Range(block.getFirstValue(), step, size, prefetchPosition);
+  }
+
+  /**
+   * Range of {@code size} values starting at {@code firstValue}. Claims advance a position over
+   * {@code [0, size)} instead of the value itself, which cannot overflow near the bounds of {@code
+   * long}.
+   */
+  private static final class Range {
+
+    private static final Range EMPTY = new Range(0, 0, 0, -1);
+
+    private final long firstValue;
+    private final long step;
+    private final long size;
+    private final long prefetchPosition;
+    private final AtomicLong position = new AtomicLong();
+
+    private Range(long firstValue, long step, long size, long prefetchPosition) {
+      this.firstValue = firstValue;
+      this.step = step;
+      this.size = size;
+      this.prefetchPosition = prefetchPosition;
+    }
+
+    private long claim() {
+      while (true) {
+        long current = position.get();
+        if (current >= size) {
+          return -1;
+        }
+        if (position.compareAndSet(current, current + 1)) {
+          return current;
+        }
+      }
+    }
+
+    private long valueAt(long position) {
+      return firstValue + position * step;
+    }
+  }
+}
@@ -2,18 +2,39 @@ package im.hibernate.id.generators.standard;
 
 import java.lang.reflect.Member;
 import java.util.EnumSet;
+import java.util.function.Function;
 import org.apache.commons.lang3.Validate;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.generator.BeforeExecutionGenerator;
 import org.hibernate.generator.EventType;
 import org.hibernate.generator.EventTypeSets;
 import org.hibernate.id.IdentifierGenerationException;
 import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import im.hibernate.id.generators.LongSequenceQuery;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Standard sequence generator that produces unique, incrementing values with optional cycling.
  *
+ * <p>With {@link StandardSequenceBackend#NATIVE_SEQUENCE}, values are fetched from a native
+ * database sequence. Otherwise values are allocated within the caller's transaction unless {@link
+ * StandardSequence#isolated()} is set. When {@link StandardSequence#allocationSize()} is greater
+ * than 1, blocks of values are always reserved in an isolated transaction and handed out from
+ * memory, as a reserved block outlives the transaction that triggered its reservation. With
+ * {@link StandardSequence#stripes()} greater than 1, each allocation advances one of several rows.
+ * With {@link StandardSequence#combining()}, concurrent isolated allocations are batched into one
+ * reservation by {@link StandardSequenceCombiner}. Generators of the same sequence share one
+ * dispenser through the {@link StandardSequenceRegistry} of the session factory. Isolated
+ * allocations failing on lock contention are retried in a new transaction by {@link
+ * StandardSequenceRetryPolicy}. Allocations are measured by the {@link StandardSequenceMetrics} of
+ * the service registry, if any, and reported to Java Flight Recorder as {@link
+ * StandardSequenceAllocationEvent}s once enabled. Live statistics and block tuning are exposed by
+ * {@link #management()}, statistics being collected only when {@value
+ * StandardSequenceConstants#JMX_ENABLED} is set.
+ *
  * @author Andy Lian
  */
 @Slf4j
@@ -21,35 +42,199 @@ public class StandardSequenceGenerator implements BeforeExecutionGenerator {
 
   private static final long serialVersionUID = 1L;
 
-  private final StandardSequenceStrategy strategy;
   private final StandardSequence config;
   private final StandardSequenceQuery query;
+  private final StandardSequenceNativeQuery nativeQuery;
+  private final StandardSequenceIsolationDelegate isolationDelegate;
+  private final StandardSequenceAllocationSizer allocationSizer;
+  private final StandardSequenceDispenser dispenser;
+  private final StandardSequenceCombiner combiner;
+  private final StandardSequenceRetryPolicy retryPolicy;
+  private final Stripe[] stripes;
+  private final StandardSequenceRecorder recorder;
+  private final StandardSequenceStatistics statistics;
 
   public StandardSequenceGenerator(
       StandardSequence config, Member member, CustomIdGeneratorCreationContext creationContext) {
+    this(config, recorder(config, creationContext), registry(creationContext));
+  }
+
+  private StandardSequenceGenerator(
+      StandardSequence config,
+      StandardSequenceRecorder recorder,
+      StandardSequenceRegistry registry) {
     this(
         config,
         new StandardSequenceStrategy(config),
         new StandardSequenceQuery(
-            config.sequenceTable(),
-            config.nameColumn(),
-            config.currentValueColumn(),
-            config.createdAtColumn(),
-            config.lastModifiedAtColumn(),
-            config.name()));
+                config.sequenceTable(),
+                config.nameColumn(),
+                config.currentValueColumn(),
+                config.createdAtColumn(),
+                config.lastModifiedAtColumn(),
+                config.name(),
+                config.timestamps())
+            .withRecorder(recorder),
+        new StandardSequenceNativeQuery(config.name(), recorder),
+        new StandardSequenceIsolationDelegate(),
+        registry,
+        recorder);
   }
 
   StandardSequenceGenerator(
       StandardSequence config, StandardSequenceStrategy strategy, StandardSequenceQuery query) {
+    this(config, strategy, query, new StandardSequenceIsolationDelegate());
+  }
+
+  StandardSequenceGenerator(
+      StandardSequence config,
+      StandardSequenceStrategy strategy,
+      StandardSequenceQuery query,
+      StandardSequenceIsolationDelegate isolationDelegate) {
+    this(
+        config,
+        strategy,
+        query,
+        new StandardSequenceNativeQuery(config.name()),
+        isolationDelegate);
+  }
+
+  StandardSequenceGenerator(
+      StandardSequence config,
+      StandardSequenceStrategy strategy,
+      StandardSequenceQuery query,
+      StandardSequenceNativeQuery nativeQuery,
+      StandardSequenceIsolationDelegate isolationDelegate) {
+    this(config, strategy, query, nativeQuery, isolationDelegate, new StandardSequenceRegistry());
+  }
+
+  StandardSequenceGenerator(
+      StandardSequence config,
+      StandardSequenceStrategy strategy,
+      StandardSequenceQuery query,
+      StandardSequenceNativeQuery nativeQuery,
+      StandardSequenceIsolationDelegate isolationDelegate,
+      StandardSequenceRegistry registry) {
+    this(
+        config,
+        strategy,
+        query,
+        nativeQuery,
+        isolationDelegate,
+        registry,
+        StandardSequenceRecorder.NOOP);
+  }
+
+  /**
+   * Creates a generator reporting to {@code recorder}, whose statistics {@link #management()}
+   * exposes if it is a {@link StandardSequenceStatistics}.
+   */
+  StandardSequenceGenerator(
+      StandardSequence config,
+      StandardSequenceStrategy strategy,
+      StandardSequenceQuery query,
+      StandardSequenceNativeQuery nativeQuery,
+      StandardSequenceIsolationDelegate isolationDelegate,
+      StandardSequenceRegistry registry,
+      StandardSequenceRecorder recorder) {
+    Validate.notNull(registry, "registry cannot be null");
+    this.recorder = Validate.notNull(recorder, "recorder cannot be null");
+    this.statistics = recorder instanceof StandardSequenceStatistics collected ? collected : null;
     this.config = Validate.notNull(config, "config cannot be null");
-    this.strategy = Validate.notNull(strategy, "strategy cannot be null");
+    Validate.notNull(strategy, "strategy cannot be null");
     this.query = Validate.notNull(query, "query cannot be null");
+    this.nativeQuery = Validate.notNull(nativeQuery, "nativeQuery cannot be null");
+    this.isolationDelegate =
+        Validate.notNull(isolationDelegate, "isolationDelegate cannot be null");
+    this.allocationSizer = registry.allocationSizer(config);
+    this.retryPolicy = new StandardSequenceRetryPolicy(config, recorder);
+    this.stripes = stripes(config, strategy, query);
+    this.dispenser =
+        config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE
+            ? newDispenser()
+            : registry.dispenser(config, this::newDispenser);
+    this.combiner = new StandardSequenceCombiner(this::reserveCombined);
 
     log.debug(
-        "Initialized {} for sequence '{}' on table '{}'",
+        "Initialized {} for sequence '{}' on table '{}' with allocationSize={}, isolated={}, "
+            + "combining={}, adaptive={}, updateMode={}, backend={}, stripes={}",
         this.getClass(),
         config.name(),
-        config.sequenceTable());
+        config.sequenceTable(),
+        config.allocationSize(),
+        config.isolated(),
+        config.combining(),
+        allocationSizer.isAdaptive(),
+        config.updateMode(),
+        config.backend(),
+        config.stripes());
+  }
+
+  /**
+   * Registry shared by the generators of the session factory being built, or a registry of this
+   * generator alone when {@link StandardSequenceRegistry} was not contributed.
+   */
+  private static StandardSequenceRegistry registry(
+      CustomIdGeneratorCreationContext creationContext) {
+    StandardSequenceRegistry registry =
+        creationContext.getServiceRegistry().getService(StandardSequenceRegistry.class);
+    if (registry == null) {
+      log.debug("No {} contributed", StandardSequenceRegistry.class.getSimpleName());
+      return new StandardSequenceRegistry();
+    }
+    return registry;
+  }
+
+  /**
+   * Recorder of the metrics of the session factory being built, collecting the statistics of
+   * {@link #management()} as well when {@value StandardSequenceConstants#JMX_ENABLED} is set, as
+   * they are only read through its MXBean.
+   */
+  private static StandardSequenceRecorder recorder(
+      StandardSequence config, CustomIdGeneratorCreationContext creationContext) {
+    StandardSequenceRecorder recorder = metrics(creationContext).recorder(config);
+    boolean jmxEnabled =
+        creationContext
+            .getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSetting(StandardSequenceConstants.JMX_ENABLED, StandardConverters.BOOLEAN, false);
+    return jmxEnabled ? new StandardSequenceStatistics(config, recorder) : recorder;
+  }
+
+  /**
+   * Metrics of the session factory being built, or {@link StandardSequenceMetrics#NOOP} when none
+   * was added to the service registry.
+   */
+  private static StandardSequenceMetrics metrics(
+      CustomIdGeneratorCreationContext creationContext) {
+    StandardSequenceMetrics metrics =
+        creationContext.getServiceRegistry().getService(StandardSequenceMetrics.class);
+    return metrics == null ? StandardSequenceMetrics.NOOP : metrics;
+  }
+
+  private StandardSequenceDispenser newDispenser() {
+    return new StandardSequenceDispenser(
+        config.incrementValue() * config.stripes(),
+        config.descending(),
+        config.prefetchThreshold(),
+        this::reserveBlock,
+        this::prefetchBlock);
+  }
+
+  private static Stripe[] stripes(
+      StandardSequence config, StandardSequenceStrategy strategy, StandardSequenceQuery query) {
+    if (config.stripes() == 1) {
+      return new Stripe[] {new Stripe(strategy, query)};
+    }
+
+    Stripe[] stripes = new Stripe[config.stripes()];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] =
+          new Stripe(
+              strategy.forStripe(i),
+              query.withName(StandardSequenceStrategy.stripeName(config.name(), i)));
+    }
+    return stripes;
   }
 
   @Override
@@ -69,30 +254,525 @@ public class StandardSequenceGenerator implements BeforeExecutionGenerator {
       throw new IdentifierGenerationException(msg);
     }
 
-    log.debug("Generating identifier for '{}' using sequence '{}'", owner, config.name());
-    StandardSequenceState currentState = query.load(session);
+    if (log.isDebugEnabled()) {
+      log.debug("Generating identifier for '{}' using sequence '{}'", owner, config.name());
+    }
+    long value = nextIdentifier(session, owner);
+    recorder.handedOut(1);
+    return value;
+  }
+
+  private long nextIdentifier(SharedSessionContractImplementor session, Object owner) {
+    if (config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE) {
+      long value = nextNativeValue(session);
+
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Generated native identifier '{}' for '{}' using sequence '{}'",
+            value,
+            owner,
+            config.name());
+      }
+      return value;
+    }
+
+    if (config.allocationSize() > 1) {
+      long value = dispenser.next(session);
+
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Generated pooled identifier '{}' for '{}' using sequence '{}'",
+            value,
+            owner,
+            config.name());
+      }
+      return value;
+    }
+
+    if (config.combining()) {
+      long value = combiner.next(session);
+
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Generated combined identifier '{}' for '{}' using sequence '{}'",
+            value,
+            owner,
+            config.name());
+      }
+      return value;
+    }
+
+    if (config.isolated()) {
+      return executeIsolated(
+          session, isolatedSession -> nextValue(isolatedSession, owner));
+    }
+    return nextValue(session, owner);
+  }
+
+  /**
+   * Reserves {@code count} consecutive values of the sequence in one database round trip, for
+   * batch pipelines assigning identifiers up front. Values cycle back to the initial value, and
+   * step downwards when descending, exactly as {@code count} successive generated identifiers
+   * would. Reservations run in the caller's transaction unless {@link StandardSequence#isolated()}
+   * is set or {@link StandardSequence#allocationSize()} is greater than 1, and bypass pooled
+   * blocks held in memory.
+   *
+   * <p>The generator of an entity is available from {@code
+   * sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator()}.
+   *
+   * @throws IdentifierGenerationException if the non-cycling sequence is exhausted before {@code
+   *     count} values, or if {@code count} exceeds the values of one cycle
+   */
+  public long[] reserve(SharedSessionContractImplementor session, int count) {
+    Validate.notNull(session, "session cannot be null");
+    Validate.isTrue(count > 0, "count must be greater than 0");
+
+    log.debug("Reserving {} values using sequence '{}'", count, config.name());
+    long[] values = reserveAll(session, count);
+    recorder.handedOut(count);
+    return values;
+  }
+
+  private long[] reserveAll(SharedSessionContractImplementor session, int count) {
+    if (config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE) {
+      // native sequences only hand out one value per call
+      long[] values = new long[count];
+      for (int i = 0; i < count; i++) {
+        values[i] = nextNativeValue(session);
+      }
+      return values;
+    }
+
+    if (config.isolated() || config.allocationSize() > 1) {
+      return executeIsolated(
+          session, isolatedSession -> reserveValues(isolatedSession, count));
+    }
+    return reserveValues(session, count);
+  }
+
+  StandardSequence config() {
+    return config;
+  }
+
+  StandardSequenceRecorder recorder() {
+    return recorder;
+  }
+
+  StandardSequenceRetryPolicy retryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Management view of this generator, reading its live statistics and tuning the blocks of its
+   * sequence. Registered with the platform MBean server by {@code StandardSequenceJmxIntegrator}.
+   *
+   * @throws IllegalStateException unless {@value StandardSequenceConstants#JMX_ENABLED} is set, as
+   *     statistics are not collected otherwise
+   */
+  public StandardSequenceMXBean management() {
+    Validate.validState(
+        statistics != null,
+        "Statistics of sequence '%s' are only collected when %s is set",
+        config.name(),
+        StandardSequenceConstants.JMX_ENABLED);
+    return new StandardSequenceManagement(config, statistics, dispenser, allocationSizer);
+  }
+
+  /** Start time of a database allocation, when collecting statistics. */
+  private long startRefill() {
+    return statistics == null ? 0 : statistics.startRefill();
+  }
+
+  /** Records a database allocation started at {@code start}, when collecting statistics. */
+  private void refilled(long start) {
+    if (statistics != null) {
+      statistics.refilled(start);
+    }
+  }
+
+  private long nextNativeValue(SharedSessionContractImplementor session) {
+    StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config);
+    long start = startRefill();
+    try {
+      long value = nativeQuery.during(event).nextValue(session);
+      event.reserved(1);
+      return value;
+    } finally {
+      refilled(start);
+      event.finish();
+    }
+  }
+
+  private long[] reserveValues(SharedSessionContractImplementor session, int count) {
+    StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config);
+    long start = startRefill();
+    try {
+      long[] values = allocateValues(session, count, event);
+      event.reserved(count);
+      return values;
+    } finally {
+      refilled(start);
+      event.finish();
+    }
+  }
+
+  private long[] allocateValues(
+      SharedSessionContractImplementor session, int count, StandardSequenceAllocationEvent event) {
+    Stripe stripe = stripe().during(event, locking());
+    if (config.updateMode() == StandardSequenceUpdateMode.COMPARE_AND_SET) {
+      StandardSequenceBlock reserved =
+          compareAndSet(
+              session,
+              stripe,
+              event,
+              true,
+              firstState -> {
+                StandardSequenceBlock[] blocks = stripe.strategy().blocks(firstState, count);
+                return new StandardSequenceBlock(
+                    blocks[0].getFirstValue(), blocks[blocks.length - 1].getLastValue());
+              });
+
+      log.debug("Reserved {} values using sequence '{}'", count, config.name());
+      return stripe
+          .strategy()
+          .values(new StandardSequenceState(reserved.getFirstValue()), count);
+    }
+
+    StandardSequenceState currentState = stripe.query().load(session);
 
     if (currentState == null) {
-      StandardSequenceState initialState = strategy.initialState();
-      query.insert(session, initialState);
+      long[] values = stripe.strategy().values(stripe.strategy().initialState(), count);
+      if (stripe.query().insertIfAbsent(session, new StandardSequenceState(values[count - 1]))) {
+        log.debug("Reserved {} initial values using sequence '{}'", count, config.name());
+        return values;
+      }
+      currentState = reload(session, stripe);
+    }
 
-      log.debug(
-          "Initialized identifier '{}' for '{}' using sequence '{}'",
-          initialState.getCurrentValue(),
-          owner,
-          config.name());
-      return initialState.getCurrentValue();
+    long[] values = stripe.strategy().values(stripe.strategy().nextState(currentState), count);
+    stripe.query().updateBlock(session, new StandardSequenceState(values[count - 1]));
+    checkWrapped(event, currentState.getCurrentValue(), values[count - 1]);
+
+    log.debug("Reserved {} values using sequence '{}'", count, config.name());
+    return values;
+  }
+
+  private long nextValue(SharedSessionContractImplementor session, Object owner) {
+    StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config);
+    long start = startRefill();
+    try {
+      long value = allocateValue(session, owner, event);
+      event.reserved(1);
+      return value;
+    } finally {
+      refilled(start);
+      event.finish();
+    }
+  }
+
+  private long allocateValue(
+      SharedSessionContractImplementor session,
+      Object owner,
+      StandardSequenceAllocationEvent event) {
+    Stripe stripe = stripe().during(event, locking());
+    if (config.updateMode() == StandardSequenceUpdateMode.SINGLE_STATEMENT
+        && config.stripes() == 1
+        && query.supportsIncrement(session)) {
+      StandardSequenceState nextState = stripe.query().increment(session, config);
+      if (nextState != null) {
+        // the row existed, so only cycling leads back to the initial value
+        if (nextState.getCurrentValue() == stripe.strategy().initialValue()) {
+          event.wrapped();
+        }
+        if (log.isDebugEnabled()) {
+          log.debug(
+              "Generated identifier '{}' for '{}' using sequence '{}'",
+              nextState.getCurrentValue(),
+              owner,
+              config.name());
+        }
+        return nextState.getCurrentValue();
+      }
+    }
+
+    if (config.updateMode() == StandardSequenceUpdateMode.COMPARE_AND_SET) {
+      long value =
+          compareAndSet(
+                  session,
+                  stripe,
+                  event,
+                  false,
+                  firstState ->
+                      new StandardSequenceBlock(
+                          firstState.getCurrentValue(), firstState.getCurrentValue()))
+              .getFirstValue();
+
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Generated identifier '{}' for '{}' using sequence '{}'",
+            value,
+            owner,
+            config.name());
+      }
+      return value;
+    }
+
+    // primitive path, allocating no state once the sequence is initialized
+    long currentValue = stripe.query().loadValue(session);
 
-    } else {
-      StandardSequenceState nextState = strategy.nextState(currentState);
-      query.update(session, nextState);
+    if (currentValue == LongSequenceQuery.NO_VALUE) {
+      // either no state yet or a sequence genuinely at Long.MIN_VALUE, which the state tells apart
+      StandardSequenceState currentState = stripe.query().load(session);
+      if (currentState == null) {
+        long initialValue = stripe.strategy().initialValue();
+        if (stripe.query().insertIfAbsent(session, new StandardSequenceState(initialValue))) {
+          log.debug(
+              "Initialized identifier '{}' for '{}' using sequence '{}'",
+              initialValue,
+              owner,
+              config.name());
+          return initialValue;
+        }
+        currentState = reload(session, stripe);
+      }
+      currentValue = currentState.getCurrentValue();
+    }
 
+    long nextValue = stripe.strategy().nextValue(currentValue);
+    stripe.query().updateValue(session, nextValue);
+    checkWrapped(event, currentValue, nextValue);
+
+    if (log.isDebugEnabled()) {
       log.debug(
           "Generated identifier '{}' for '{}' using sequence '{}'",
-          nextState.getCurrentValue(),
+          nextValue,
           owner,
           config.name());
-      return nextState.getCurrentValue();
+    }
+    return nextValue;
+  }
+
+  /**
+   * Allocates the values {@code allocate} derives from the first state following the current one,
+   * with {@link StandardSequenceUpdateMode#COMPARE_AND_SET}: the row is read without a lock and its
+   * value replaced by the last allocated value only if unchanged meanwhile.
+   *
+   * <p>A conflicting isolated allocation fails its transaction with a {@link
+   * StandardSequenceRetryPolicy.ConflictException}, so that {@link StandardSequenceRetryPolicy}
+   * retries it in a new transaction reading a fresh snapshot, which a {@code REPEATABLE READ}
+   * transaction would never see. A conflicting allocation in the caller's transaction is retried
+   * after re-reading the row with a locking read, which reads its latest committed value, up to
+   * {@link StandardSequence#maxRetries()} times.
+   *
+   * @param block whether {@code allocate} reserves a block of values, see {@link
+   *     StandardSequenceTimestampMode#ON_REFILL}
+   * @throws IdentifierGenerationException if the allocation still conflicts after the last retry
+   */
+  private StandardSequenceBlock compareAndSet(
+      SharedSessionContractImplementor session,
+      Stripe stripe,
+      StandardSequenceAllocationEvent event,
+      boolean block,
+      Function<StandardSequenceState, StandardSequenceBlock> allocate) {
+    StandardSequenceStrategy stripeStrategy = stripe.strategy();
+    StandardSequenceQuery stripeQuery = stripe.query();
+    boolean isolated = config.isolated() || config.allocationSize() > 1;
+
+    for (int attempt = 0; ; attempt++) {
+      long currentValue =
+          attempt == 0 ? stripeQuery.readValue(session) : stripeQuery.loadValue(session);
+
+      // either no state yet or a sequence genuinely at Long.MIN_VALUE, which the state tells apart
+      if (currentValue == LongSequenceQuery.NO_VALUE && stripeQuery.load(session) == null) {
+        StandardSequenceBlock allocated = allocate.apply(stripeStrategy.initialState());
+        StandardSequenceState lastState = new StandardSequenceState(allocated.getLastValue());
+        if (stripeQuery.insertIfAbsent(session, lastState)) {
+          return allocated;
+        }
+      } else {
+        StandardSequenceBlock allocated =
+            allocate.apply(stripeStrategy.nextState(new StandardSequenceState(currentValue)));
+        if (stripeQuery.compareAndSetValue(
+            session, currentValue, allocated.getLastValue(), block)) {
+          checkWrapped(event, currentValue, allocated.getLastValue());
+          return allocated;
+        }
+      }
+
+      if (isolated) {
+        throw new StandardSequenceRetryPolicy.ConflictException(config.name());
+      }
+      if (attempt >= config.maxRetries()) {
+        String msg =
+            "Failed to allocate from sequence ["
+                + config.name()
+                + "] after "
+                + attempt
+                + " retries of conflicting updates";
+        log.error(msg);
+        throw new IdentifierGenerationException(msg);
+      }
+
+      log.debug("Retrying conflicting update of sequence '{}' with a locking read", config.name());
+    }
+  }
+
+  /**
+   * Loads the state of a sequence found absent at first but initialized meanwhile by a concurrent
+   * transaction, whose commit the initializing insert has waited for.
+   */
+  private StandardSequenceState reload(SharedSessionContractImplementor session, Stripe stripe) {
+    log.debug("Sequence '{}' initialized concurrently, reloading its state", config.name());
+
+    StandardSequenceState currentState = stripe.query().load(session);
+    if (currentState == null) {
+      String msg = "Failed to load sequence state for [" + config.name() + "] after initializing";
+      log.error(msg);
+      throw new IllegalStateException(msg);
+    }
+    return currentState;
+  }
+
+  /**
+   * Executes work in an isolated transaction, retried in a new one when it failed on lock
+   * contention, see {@link StandardSequenceRetryPolicy}.
+   */
+  private <T> T executeIsolated(
+      SharedSessionContractImplementor session,
+      Function<SharedSessionContractImplementor, T> work) {
+    return retryPolicy.execute(() -> isolationDelegate.execute(session, work));
+  }
+
+  private long[] reserveCombined(SharedSessionContractImplementor session, int count) {
+    return executeIsolated(
+        session, isolatedSession -> reserveValues(isolatedSession, count));
+  }
+
+  private StandardSequenceBlock reserveBlock(SharedSessionContractImplementor session) {
+    return executeIsolated(session, this::reserveIsolatedBlock);
+  }
+
+  private StandardSequenceBlock prefetchBlock(SessionFactoryImplementor sessionFactory) {
+    return retryPolicy.execute(
+        () -> isolationDelegate.executeInNewSession(sessionFactory, this::reserveIsolatedBlock));
+  }
+
+  private StandardSequenceBlock reserveIsolatedBlock(
+      SharedSessionContractImplementor isolatedSession) {
+    StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config);
+    long start = startRefill();
+    try {
+      StandardSequenceBlock block = allocateBlock(isolatedSession, event);
+      event.reserved(blockSize(block));
+      return block;
+    } finally {
+      refilled(start);
+      event.finish();
+    }
+  }
+
+  private StandardSequenceBlock allocateBlock(
+      SharedSessionContractImplementor isolatedSession, StandardSequenceAllocationEvent event) {
+    Stripe stripe = stripe().during(event, locking());
+    StandardSequenceStrategy stripeStrategy = stripe.strategy();
+    StandardSequenceQuery stripeQuery = stripe.query();
+    if (config.updateMode() == StandardSequenceUpdateMode.COMPARE_AND_SET) {
+      // sized once, as the adaptive sizer measures the time between its calls
+      int[] allocationSize = {0};
+      StandardSequenceBlock block =
+          compareAndSet(
+              isolatedSession,
+              stripe,
+              event,
+              true,
+              firstState -> {
+                if (allocationSize[0] == 0) {
+                  allocationSize[0] = nextAllocationSize(stripeStrategy, firstState);
+                }
+                return new StandardSequenceBlock(
+                    firstState.getCurrentValue(),
+                    stripeStrategy.lastBlockState(firstState, allocationSize[0]).getCurrentValue());
+              });
+
+      log.debug("Reserved {} for sequence '{}'", block, config.name());
+      return block;
+    }
+
+    StandardSequenceState currentState = stripeQuery.load(isolatedSession);
+    StandardSequenceState firstState = null;
+    StandardSequenceState lastState = null;
+
+    if (currentState == null) {
+      firstState = stripeStrategy.initialState();
+      lastState =
+          stripeStrategy.lastBlockState(firstState, nextAllocationSize(stripeStrategy, firstState));
+      if (!stripeQuery.insertIfAbsent(isolatedSession, lastState)) {
+        currentState = reload(isolatedSession, stripe);
+      }
+    }
+
+    if (currentState != null) {
+      firstState = stripeStrategy.nextState(currentState);
+      lastState =
+          stripeStrategy.lastBlockState(firstState, nextAllocationSize(stripeStrategy, firstState));
+      stripeQuery.updateBlock(isolatedSession, lastState);
+      checkWrapped(event, currentState.getCurrentValue(), lastState.getCurrentValue());
+    }
+
+    StandardSequenceBlock block =
+        new StandardSequenceBlock(firstState.getCurrentValue(), lastState.getCurrentValue());
+    log.debug("Reserved {} for sequence '{}'", block, config.name());
+    return block;
+  }
+
+  /**
+   * Reports the allocation of {@code event} as cycling back when {@code lastValue}, the last value
+   * written to a row holding {@code currentValue}, does not lie beyond it.
+   */
+  private void checkWrapped(
+      StandardSequenceAllocationEvent event, long currentValue, long lastValue) {
+    if (config.descending() ? lastValue >= currentValue : lastValue <= currentValue) {
+      event.wrapped();
+    }
+  }
+
+  /** Whether loads lock the row, which they do unless comparing and setting. */
+  private boolean locking() {
+    return config.updateMode() != StandardSequenceUpdateMode.COMPARE_AND_SET;
+  }
+
+  /** Number of values of a block, which never cycles within itself. */
+  private long blockSize(StandardSequenceBlock block) {
+    long distance =
+        config.descending()
+            ? block.getFirstValue() - block.getLastValue()
+            : block.getLastValue() - block.getFirstValue();
+    return Long.divideUnsigned(distance, (long) config.incrementValue() * config.stripes()) + 1;
+  }
+
+  private int nextAllocationSize(
+      StandardSequenceStrategy stripeStrategy, StandardSequenceState firstState) {
+    return allocationSizer.nextAllocationSize(stripeStrategy.remainingValues(firstState));
+  }
+
+  /**
+   * Picks the stripe by the current thread, so that a transaction keeps locking the same row and
+   * concurrent transactions cannot deadlock on rows locked in a different order.
+   */
+  Stripe stripe() {
+    return stripes.length == 1
+        ? stripes[0]
+        : stripes[Math.floorMod(Thread.currentThread().threadId(), stripes.length)];
+  }
+
+  /** Strategy and query of one row of a sequence split by {@link StandardSequence#stripes()}. */
+  record Stripe(StandardSequenceStrategy strategy, StandardSequenceQuery query) {
+
+    /** This stripe with its query reporting to {@code event} as well, while it is recording. */
+    Stripe during(StandardSequenceAllocationEvent event, boolean locking) {
+      return event.recording()
+          ? new Stripe(strategy, query.withRecorder(event.recorder(query.recorder(), locking)))
+          : this;
     }
   }
 }
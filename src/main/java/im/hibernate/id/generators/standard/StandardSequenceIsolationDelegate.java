@@ -0,0 +1,57 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.function.Function;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes sequence work in its own short transaction on a separate {@link StatelessSession},
+ * isolated from the caller's transaction through Hibernate's {@link
+ * org.hibernate.resource.transaction.spi.IsolationDelegate}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceIsolationDelegate {
+
+  <T> T execute(
+      SharedSessionContractImplementor session,
+      Function<SharedSessionContractImplementor, T> work) {
+    return session
+        .getTransactionCoordinator()
+        .createIsolationDelegate()
+        .delegateCallable(() -> executeInNewSession(session.getFactory(), work), true);
+  }
+
+  /**
+   * Executes work outside of any caller's session, such as from a background thread, in its own
+   * transaction.
+   */
+  <T> T executeInNewSession(
+      SessionFactoryImplementor sessionFactory,
+      Function<SharedSessionContractImplementor, T> work) {
+    try (StatelessSession isolatedSession = sessionFactory.openStatelessSession()) {
+      Transaction transaction = isolatedSession.beginTransaction();
+      try {
+        T result = work.apply((SharedSessionContractImplementor) isolatedSession);
+        transaction.commit();
+        return result;
+
+      } catch (RuntimeException e) {
+        if (e instanceof StandardSequenceRetryPolicy.ConflictException) {
+          // expected under contention, the retry policy decides whether it is worth reporting
+          log.debug("Rolling back isolated sequence transaction: {}", e.getMessage());
+        } else {
+          log.warn("Rolling back isolated sequence transaction", e);
+        }
+        if (transaction.isActive()) {
+          transaction.rollback();
+        }
+        throw e;
+      }
+    }
+  }
+}
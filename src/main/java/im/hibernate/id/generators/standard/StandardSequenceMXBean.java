@@ -0,0 +1,70 @@
+package im.hibernate.id.generators.standard;
+
+/**
+ * Management interface of a {@link StandardSequenceGenerator}, for operators to watch a sequence
+ * and tune its blocks without querying the database or redeploying. Registered for each generator
+ * of a session factory by {@code StandardSequenceJmxIntegrator}.
+ *
+ * <p>Rates cover the last one to two minutes.
+ *
+ * @author Andy Lian
+ */
+public interface StandardSequenceMXBean {
+
+  String getSequenceName();
+
+  String getSequenceTable();
+
+  /** First and last values cached in memory, empty when none is cached. */
+  long[] getCachedRange();
+
+  /** Values handed out by the generator since the session factory started. */
+  long getValuesHandedOut();
+
+  /** Values handed out per second. */
+  double getHandOutRate();
+
+  /** Database allocations of the generator, of single values or of blocks. */
+  long getRefills();
+
+  /** Database allocations per second. */
+  double getRefillRate();
+
+  /** Allocations retried after lock contention or a conflicting compare-and-set update. */
+  long getRetries();
+
+  /**
+   * Upper bounds of the buckets of {@link #getAllocationLatencyCounts()} in milliseconds, the last
+   * bucket being unbounded.
+   */
+  long[] getAllocationLatencyBoundsMillis();
+
+  /** Number of database allocations by latency bucket. */
+  long[] getAllocationLatencyCounts();
+
+  /**
+   * Values left, cached or not, before the sequence cycles or is exhausted, summed over its
+   * stripes, or -1 until each stripe had a database allocation.
+   */
+  long getRemainingValues();
+
+  /**
+   * Seconds before the sequence cycles or is exhausted at the recent hand out rate, or -1 when no
+   * value was handed out recently.
+   */
+  long getProjectedSecondsToExhaustion();
+
+  /** Size of the next block reserved. */
+  int getAllocationSize();
+
+  /**
+   * Changes the size of the next blocks reserved by the generators of the sequence. An adaptive
+   * size keeps adapting within its bounds from the new size.
+   *
+   * @throws IllegalStateException if the sequence does not reserve blocks
+   */
+  void setAllocationSize(int allocationSize);
+
+  /** Discards the values cached in memory, so that the next value comes from a new block. */
+  void flush();
+}
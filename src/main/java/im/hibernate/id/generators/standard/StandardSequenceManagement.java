@@ -0,0 +1,149 @@
+package im.hibernate.id.generators.standard;
+
+import org.apache.commons.lang3.Validate;
+import im.hibernate.id.generators.LongSequenceQuery;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link StandardSequenceMXBean} of a {@link StandardSequenceGenerator}, reading its {@link
+ * StandardSequenceStatistics} and the dispenser and allocation sizer of its sequence.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceManagement implements StandardSequenceMXBean {
+
+  private final StandardSequence config;
+  private final StandardSequenceStrategy[] stripeStrategies;
+  private final StandardSequenceStatistics statistics;
+  private final StandardSequenceDispenser dispenser;
+  private final StandardSequenceAllocationSizer allocationSizer;
+
+  StandardSequenceManagement(
+      StandardSequence config,
+      StandardSequenceStatistics statistics,
+      StandardSequenceDispenser dispenser,
+      StandardSequenceAllocationSizer allocationSizer) {
+    this.config = Validate.notNull(config, "config cannot be null");
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+    this.stripeStrategies = new StandardSequenceStrategy[config.stripes()];
+    for (int i = 0; i < stripeStrategies.length; i++) {
+      stripeStrategies[i] = config.stripes() == 1 ? strategy : strategy.forStripe(i);
+    }
+    this.statistics = Validate.notNull(statistics, "statistics cannot be null");
+    this.dispenser = Validate.notNull(dispenser, "dispenser cannot be null");
+    this.allocationSizer = Validate.notNull(allocationSizer, "allocationSizer cannot be null");
+  }
+
+  @Override
+  public String getSequenceName() {
+    return config.name();
+  }
+
+  @Override
+  public String getSequenceTable() {
+    return config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE
+        ? null
+        : config.sequenceTable();
+  }
+
+  @Override
+  public long[] getCachedRange() {
+    StandardSequenceBlock block = dispenser.remainingBlock();
+    return block == null
+        ? new long[0]
+        : new long[] {block.getFirstValue(), block.getLastValue()};
+  }
+
+  @Override
+  public long getValuesHandedOut() {
+    return statistics.handedOut();
+  }
+
+  @Override
+  public double getHandOutRate() {
+    return statistics.handOutRate();
+  }
+
+  @Override
+  public long getRefills() {
+    return statistics.refills();
+  }
+
+  @Override
+  public double getRefillRate() {
+    return statistics.refillRate();
+  }
+
+  @Override
+  public long getRetries() {
+    return statistics.retries();
+  }
+
+  @Override
+  public long[] getAllocationLatencyBoundsMillis() {
+    return StandardSequenceStatistics.LATENCY_BOUNDS_MILLIS.clone();
+  }
+
+  @Override
+  public long[] getAllocationLatencyCounts() {
+    return statistics.latencies();
+  }
+
+  @Override
+  public long getRemainingValues() {
+    // values following the last value written to each stripe, each stepping over the others
+    long remaining = 0;
+    for (int i = 0; i < stripeStrategies.length; i++) {
+      long lastWrittenValue = statistics.lastWrittenValue(i);
+      // unknown as well for a stripe genuinely at Long.MIN_VALUE, exhausted unless cycling
+      if (lastWrittenValue == LongSequenceQuery.NO_VALUE) {
+        return -1;
+      }
+      long stripeRemaining =
+          stripeStrategies[i].remainingValues(new StandardSequenceState(lastWrittenValue));
+      if (stripeRemaining == Long.MAX_VALUE || remaining > Long.MAX_VALUE - stripeRemaining) {
+        return Long.MAX_VALUE;
+      }
+      remaining += stripeRemaining - 1;
+    }
+
+    // plus those reserved before the last values written but still cached
+    StandardSequenceBlock cachedBlock = dispenser.remainingBlock();
+    long cached = 0;
+    if (cachedBlock != null) {
+      long distance =
+          config.descending()
+              ? cachedBlock.getFirstValue() - cachedBlock.getLastValue()
+              : cachedBlock.getLastValue() - cachedBlock.getFirstValue();
+      cached =
+          Long.divideUnsigned(distance, (long) config.incrementValue() * config.stripes()) + 1;
+    }
+    return remaining + cached;
+  }
+
+  @Override
+  public long getProjectedSecondsToExhaustion() {
+    long remaining = getRemainingValues();
+    double rate = statistics.handOutRate();
+    return remaining < 0 || rate <= 0 ? -1 : (long) (remaining / rate);
+  }
+
+  @Override
+  public int getAllocationSize() {
+    return allocationSizer.allocationSize();
+  }
+
+  @Override
+  public void setAllocationSize(int allocationSize) {
+    Validate.validState(
+        config.allocationSize() > 1, "Sequence '%s' does not reserve blocks", config.name());
+    allocationSizer.resize(allocationSize);
+  }
+
+  @Override
+  public void flush() {
+    log.info("Flushing cached values of sequence '{}'", config.name());
+    dispenser.flush();
+  }
+}
@@ -0,0 +1,20 @@
+package im.hibernate.id.generators.standard;
+
+import org.hibernate.service.Service;
+
+/**
+ * Source of the {@link StandardSequenceRecorder}s instrumenting the sequences of one service
+ * registry, looked up by {@link StandardSequenceGenerator} when it is built. Sequences record
+ * nothing when no implementation was added to the service registry, for instance with {@code
+ * StandardServiceRegistryBuilder#addService(StandardSequenceMetrics.class, metrics)}.
+ *
+ * @author Andy Lian
+ */
+public interface StandardSequenceMetrics extends Service {
+
+  /** Metrics recording nothing, used when no implementation was added to the service registry. */
+  StandardSequenceMetrics NOOP = config -> StandardSequenceRecorder.NOOP;
+
+  /** Recorder of the sequence of {@code config}, shared by the generators of that sequence. */
+  StandardSequenceRecorder recorder(StandardSequence config);
+}
@@ -0,0 +1,105 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.regex.Pattern;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.AbstractAuxiliaryDatabaseObject;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.DB2Dialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+
+/**
+ * Auxiliary database object for the native sequence of a {@link StandardSequence} using {@link
+ * StandardSequenceBackend#NATIVE_SEQUENCE}, managing it's DDL create and drop.
+ *
+ * <p>The sequence is created by the {@code CREATE SEQUENCE} statement of the dialect's {@link
+ * org.hibernate.dialect.sequence.SequenceSupport}, qualified by the default catalog and schema,
+ * followed by its bounds, cycling and cache options. As {@code SequenceSupport} renders no such
+ * options, and only takes {@code int} start and increment values, the options are appended here in
+ * the syntax of the dialects they are verified on: H2, PostgreSQL, Oracle, SQL Server and DB2.
+ * Sequences of other dialects are left to the schema management of the application.
+ *
+ * @author Andy Lian
+ */
+public class StandardSequenceNativeDatabaseObject extends AbstractAuxiliaryDatabaseObject {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Pattern UNQUOTED_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+  private final String name;
+  private final long initialValue;
+  private final long maxValue;
+  private final int incrementValue;
+  private final boolean descending;
+  private final boolean cycle;
+  private final int cacheSize;
+
+  public StandardSequenceNativeDatabaseObject(StandardSequence config) {
+    this.name = config.name();
+    this.initialValue = config.initialValue();
+    this.maxValue = config.maxValue();
+    this.incrementValue = config.incrementValue();
+    this.descending = config.descending();
+    this.cycle = config.cycle();
+    this.cacheSize = config.allocationSize();
+  }
+
+  /**
+   * Renders the native sequence name of {@code name}, quoted when not a plain identifier and
+   * qualified by the default catalog and schema of {@code context}.
+   */
+  static String sequenceName(SqlStringGenerationContext context, String name) {
+    Identifier identifier =
+        Identifier.toIdentifier(name, !UNQUOTED_NAME.matcher(name).matches());
+    return context.format(new QualifiedSequenceName(null, null, identifier));
+  }
+
+  @Override
+  public String getExportIdentifier() {
+    return StandardSequenceNativeDatabaseObject.class.getName() + "." + name;
+  }
+
+  @Override
+  public boolean appliesToDialect(Dialect dialect) {
+    return dialect instanceof H2Dialect
+        || dialect instanceof PostgreSQLDialect
+        || dialect instanceof OracleDialect
+        || dialect instanceof SQLServerDialect
+        || dialect instanceof DB2Dialect;
+  }
+
+  @Override
+  public String[] sqlCreateStrings(SqlStringGenerationContext context) {
+    Dialect dialect = context.getDialect();
+    return new String[] {
+      dialect.getSequenceSupport().getCreateSequenceString(sequenceName(context, name))
+          + " START WITH "
+          + (descending ? maxValue : initialValue)
+          + " INCREMENT BY "
+          + (descending ? -incrementValue : incrementValue)
+          + " MINVALUE "
+          + initialValue
+          + " MAXVALUE "
+          + maxValue
+          + (cycle ? " CYCLE" : noCycle(dialect))
+          + (cacheSize > 1 ? " CACHE " + cacheSize : "")
+    };
+  }
+
+  private static String noCycle(Dialect dialect) {
+    return dialect instanceof OracleDialect ? " NOCYCLE" : " NO CYCLE";
+  }
+
+  @Override
+  public String[] sqlDropStrings(SqlStringGenerationContext context) {
+    return context
+        .getDialect()
+        .getSequenceSupport()
+        .getDropSequenceStrings(sequenceName(context, name));
+  }
+}
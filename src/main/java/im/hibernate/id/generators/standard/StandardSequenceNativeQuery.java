@@ -0,0 +1,75 @@
+package im.hibernate.id.generators.standard;
+
+import org.apache.commons.lang3.Validate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import im.hibernate.id.generators.standard.StandardSequenceRecorder.Operation;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Provides method to fetch the next value of a {@link StandardSequenceBackend#NATIVE_SEQUENCE}
+ * using {@link SharedSessionContractImplementor}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceNativeQuery {
+
+  private final String name;
+  private final StandardSequenceRecorder recorder;
+
+  public StandardSequenceNativeQuery(String name) {
+    this(name, StandardSequenceRecorder.NOOP);
+  }
+
+  /** Creates a query reporting its statements and fetched values to {@code recorder}. */
+  public StandardSequenceNativeQuery(String name, StandardSequenceRecorder recorder) {
+    this.name = name;
+    this.recorder = Validate.notNull(recorder, "recorder cannot be null");
+  }
+
+  /** This query with its statement reporting to {@code event} as well, while it is recording. */
+  StandardSequenceNativeQuery during(StandardSequenceAllocationEvent event) {
+    return event.recording()
+        ? new StandardSequenceNativeQuery(name, event.recorder(recorder, false))
+        : this;
+  }
+
+  public long nextValue(SharedSessionContractImplementor session) {
+    Dialect dialect = session.getFactory().getJdbcServices().getDialect();
+    if (!dialect.getSequenceSupport().supportsSequences()) {
+      String msg =
+          "Native sequence '" + name + "' is not supported by " + dialect.getClass().getName();
+      log.error(msg);
+      throw new IdentifierGenerationException(msg);
+    }
+
+    log.debug("Fetching next value of native sequence '{}'", name);
+    long start = recorder.start();
+    Long nextValue;
+    try {
+      nextValue =
+          session
+              .createNativeQuery(
+                  dialect
+                      .getSequenceSupport()
+                      .getSequenceNextValString(
+                          StandardSequenceNativeDatabaseObject.sequenceName(
+                              session.getFactory().getSqlStringGenerationContext(), name)),
+                  Long.class)
+              .uniqueResult();
+    } finally {
+      recorder.record(Operation.UPDATE, start);
+    }
+    if (nextValue == null) {
+      String msg = "Native sequence '" + name + "' returned no value";
+      log.error(msg);
+      throw new IdentifierGenerationException(msg);
+    }
+    recorder.written(name, nextValue);
+
+    log.debug("Fetched nextValue={} of native sequence '{}'", nextValue, name);
+    return nextValue;
+  }
+}
@@ -1,21 +1,54 @@
 package im.hibernate.id.generators.standard;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.HibernateException;
+import org.hibernate.JDBCException;
+import org.hibernate.dialect.CockroachDialect;
+import org.hibernate.dialect.DB2Dialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import im.hibernate.id.generators.LongSequenceQuery;
 import im.hibernate.id.generators.SequenceQuery;
-import jakarta.persistence.Tuple;
-import lombok.AllArgsConstructor;
+import im.hibernate.id.generators.standard.StandardSequenceRecorder.Operation;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Provides methods to load, insert, and update {@link StandardSequenceState} record using {@link
  * SharedSessionContractImplementor}.
  *
+ * <p>All statements are rendered once and run as prepared statements with positional parameters
+ * through the session's {@link JdbcCoordinator}, bypassing native query parsing and result mapping
+ * on the hot path. The dialect-specific insert-if-absent and single-statement increment are
+ * rendered on their first execution, as the dialect is only known from the session. Audit
+ * timestamps are written as the {@link StandardSequenceTimestampMode} requires, single-value
+ * updates write none under {@link StandardSequenceTimestampMode#ON_REFILL}. Every statement and
+ * every value written is reported to the {@link StandardSequenceRecorder} of {@link
+ * #withRecorder(StandardSequenceRecorder)}.
+ *
  * @author Andy Lian
  */
-@AllArgsConstructor
 @Slf4j
-public class StandardSequenceQuery implements SequenceQuery<StandardSequenceState> {
+public class StandardSequenceQuery
+    implements SequenceQuery<StandardSequenceState>, LongSequenceQuery {
+
+  /** SQL state of a unique or primary key violation. */
+  private static final String DUPLICATE_KEY_STATE = "23505";
 
   private final String tableName;
   private final String nameColumn;
@@ -23,103 +56,907 @@ public class StandardSequenceQuery implements SequenceQuery<StandardSequenceStat
   private final String createdAtColumn;
   private final String lastModifiedAtColumn;
   private final String name;
+  private final StandardSequenceTimestampMode timestampMode;
+  private final StandardSequenceRecorder recorder;
+
+  // rendered once, executed as prepared statements through the session's JdbcCoordinator
+  private final String loadSql;
+  private final String readSql;
+  private final String insertSql;
+  private final String updateSql;
+  private final String updateBlockSql;
+  private final String compareAndSetSql;
+  private final String compareAndSetBlockSql;
+
+  // rendered for the dialect, and configuration, of their first execution
+  private volatile InsertIfAbsentSql insertIfAbsentSql;
+  private volatile IncrementSql incrementSql;
+
+  public StandardSequenceQuery(
+      String tableName,
+      String nameColumn,
+      String currentValueColumn,
+      String createdAtColumn,
+      String lastModifiedAtColumn,
+      String name) {
+    this(
+        tableName,
+        nameColumn,
+        currentValueColumn,
+        createdAtColumn,
+        lastModifiedAtColumn,
+        name,
+        StandardSequenceTimestampMode.CLIENT);
+  }
+
+  public StandardSequenceQuery(
+      String tableName,
+      String nameColumn,
+      String currentValueColumn,
+      String createdAtColumn,
+      String lastModifiedAtColumn,
+      String name,
+      StandardSequenceTimestampMode timestampMode) {
+    this(
+        tableName,
+        nameColumn,
+        currentValueColumn,
+        createdAtColumn,
+        lastModifiedAtColumn,
+        name,
+        timestampMode,
+        StandardSequenceRecorder.NOOP);
+  }
+
+  private StandardSequenceQuery(
+      String tableName,
+      String nameColumn,
+      String currentValueColumn,
+      String createdAtColumn,
+      String lastModifiedAtColumn,
+      String name,
+      StandardSequenceTimestampMode timestampMode,
+      StandardSequenceRecorder recorder) {
+    this.tableName = tableName;
+    this.nameColumn = nameColumn;
+    this.currentValueColumn = currentValueColumn;
+    this.createdAtColumn = createdAtColumn;
+    this.lastModifiedAtColumn = lastModifiedAtColumn;
+    this.name = name;
+    this.timestampMode = timestampMode;
+    this.recorder = recorder;
+
+    this.readSql =
+        "SELECT " + currentValueColumn + " FROM " + tableName + " WHERE " + nameColumn + " = ?";
+    this.loadSql = readSql + " FOR UPDATE";
+    this.insertSql =
+        "INSERT INTO "
+            + tableName
+            + "("
+            + nameColumn
+            + ", "
+            + currentValueColumn
+            + ", "
+            + createdAtColumn
+            + ") "
+            + "VALUES(?, ?, "
+            + (timestampMode == StandardSequenceTimestampMode.DATABASE ? "CURRENT_TIMESTAMP" : "?")
+            + ")";
+    this.updateSql = updateSql(false);
+    this.updateBlockSql = updateSql(true);
+    this.compareAndSetSql = updateSql + " AND " + currentValueColumn + " = ?";
+    this.compareAndSetBlockSql = updateBlockSql + " AND " + currentValueColumn + " = ?";
+  }
+
+  private String updateSql(boolean block) {
+    return "UPDATE "
+        + tableName
+        + " SET "
+        + currentValueColumn
+        + " = ?"
+        + lastModifiedAtAssignment(block, "?")
+        + " WHERE "
+        + nameColumn
+        + " = ?";
+  }
+
+  /**
+   * Assignment of the {@code lastModifiedAt} column appended to a {@code SET} clause, with {@code
+   * parameter} standing for the application's clock, or an empty string when the update writes no
+   * timestamp.
+   */
+  private String lastModifiedAtAssignment(boolean block, String parameter) {
+    return switch (timestampMode) {
+      case CLIENT -> ", " + lastModifiedAtColumn + " = " + parameter;
+      case DATABASE -> ", " + lastModifiedAtColumn + " = CURRENT_TIMESTAMP";
+      case ON_REFILL -> block ? ", " + lastModifiedAtColumn + " = " + parameter : "";
+      case NONE -> "";
+    };
+  }
+
+  /** Whether the insert binds the application's clock to {@code createdAt}. */
+  boolean bindsCreatedAt() {
+    return timestampMode != StandardSequenceTimestampMode.DATABASE;
+  }
+
+  /** Whether the update binds the application's clock to {@code lastModifiedAt}. */
+  boolean bindsLastModifiedAt(boolean block) {
+    return timestampMode == StandardSequenceTimestampMode.CLIENT
+        || (timestampMode == StandardSequenceTimestampMode.ON_REFILL && block);
+  }
+
+  /** Copy of this query for the row {@code name} of the same sequence table. */
+  public StandardSequenceQuery withName(String name) {
+    return new StandardSequenceQuery(
+        tableName,
+        nameColumn,
+        currentValueColumn,
+        createdAtColumn,
+        lastModifiedAtColumn,
+        name,
+        timestampMode,
+        recorder);
+  }
+
+  /** Copy of this query reporting its statements and written values to {@code recorder}. */
+  public StandardSequenceQuery withRecorder(StandardSequenceRecorder recorder) {
+    StandardSequenceQuery copy =
+        new StandardSequenceQuery(
+            tableName,
+            nameColumn,
+            currentValueColumn,
+            createdAtColumn,
+            lastModifiedAtColumn,
+            name,
+            timestampMode,
+            Validate.notNull(recorder, "recorder cannot be null"));
+    // same row and statements, so the dialect-specific ones need not be rendered again
+    copy.insertIfAbsentSql = insertIfAbsentSql;
+    copy.incrementSql = incrementSql;
+    return copy;
+  }
+
+  /** Name of the row this query reads and writes. */
+  String name() {
+    return name;
+  }
+
+  /** Recorder its statements and written values are reported to. */
+  StandardSequenceRecorder recorder() {
+    return recorder;
+  }
+
+  /** Locking select of the current value, with the name as its only parameter. */
+  String loadSql() {
+    return loadSql;
+  }
+
+  /** Insert of the name, the current value and, if {@link #bindsCreatedAt()}, the timestamp. */
+  String insertSql() {
+    return insertSql;
+  }
+
+  /**
+   * Update of the current value, the timestamp if {@link #bindsLastModifiedAt(boolean)}, and the
+   * name, for the last value of a reserved block.
+   */
+  String updateBlockSql() {
+    return updateBlockSql;
+  }
 
   @Override
   public StandardSequenceState load(SharedSessionContractImplementor session) {
-    log.debug("Loading current state for sequence '{}' from table '{}'", name, tableName);
+    if (log.isDebugEnabled()) {
+      log.debug("Loading current state for sequence '{}' from table '{}'", name, tableName);
+    }
 
-    Tuple result =
-        session
-            .createNativeQuery(
-                "SELECT "
-                    + currentValueColumn
-                    + " FROM "
-                    + tableName
-                    + " WHERE "
-                    + nameColumn
-                    + " = :name"
-                    + " FOR UPDATE",
-                Tuple.class)
-            .setParameter("name", name)
-            .uniqueResult();
-    if (result == null) {
-      log.info("No existing state found for sequence '{}'", name);
-      return null;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(loadSql);
+    try {
+      statement.setString(1, name);
+
+      ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, loadSql);
+      if (!resultSet.next()) {
+        log.info("No existing state found for sequence '{}'", name);
+        return null;
+      }
+
+      long currentValue = resultSet.getLong(1);
+      if (log.isDebugEnabled()) {
+        log.debug("Loaded currentValue={} for sequence '{}'", currentValue, name);
+      }
+
+      return new StandardSequenceState(currentValue);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to load sequence state for [" + name + "]", loadSql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.LOAD, start);
     }
+  }
 
-    long currentValue = result.get(currentValueColumn, Long.class).longValue();
-    log.debug("Loaded currentValue={} for sequence '{}'", currentValue, name);
+  /**
+   * Loads the current value without allocating a state, see {@link
+   * #load(SharedSessionContractImplementor)}.
+   *
+   * @return the current value, or {@link LongSequenceQuery#NO_VALUE} when no state exists
+   */
+  @Override
+  public long loadValue(SharedSessionContractImplementor session) {
+    return selectValue(session, loadSql);
+  }
 
-    return new StandardSequenceState(currentValue);
+  /**
+   * Reads the current value without locking the row, for {@link
+   * StandardSequenceUpdateMode#COMPARE_AND_SET} allocations that only write it back if unchanged.
+   *
+   * @return the current value, or {@link LongSequenceQuery#NO_VALUE} when no state exists
+   */
+  public long readValue(SharedSessionContractImplementor session) {
+    return selectValue(session, readSql);
+  }
+
+  private long selectValue(SharedSessionContractImplementor session, String sql) {
+    if (log.isDebugEnabled()) {
+      log.debug("Loading current value for sequence '{}' from table '{}'", name, tableName);
+    }
+
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      statement.setString(1, name);
+
+      ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, sql);
+      if (!resultSet.next()) {
+        log.info("No existing state found for sequence '{}'", name);
+        return NO_VALUE;
+      }
+
+      long currentValue = resultSet.getLong(1);
+      if (log.isDebugEnabled()) {
+        log.debug("Loaded currentValue={} for sequence '{}'", currentValue, name);
+      }
+      return currentValue;
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to load sequence state for [" + name + "]", sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.LOAD, start);
+    }
   }
 
   @Override
   public void insert(SharedSessionContractImplementor session, StandardSequenceState initialState) {
-    long currentValue = initialState.getCurrentValue();
-    log.debug("Inserting initial state with currentValue={} for sequence '{}'", currentValue, name);
-
-    int affectedRows =
-        session
-            .createNativeMutationQuery(
-                "INSERT INTO "
-                    + tableName
-                    + "("
-                    + nameColumn
-                    + ", "
-                    + currentValueColumn
-                    + ", "
-                    + createdAtColumn
-                    + ") "
-                    + "VALUES("
-                    + ":name"
-                    + ", :currentValue"
-                    + ", :createdAt"
-                    + ")")
-            .setParameter("name", name)
-            .setParameter("currentValue", currentValue)
-            .setParameter("createdAt", LocalDateTime.now())
-            .executeUpdate();
+    insertValue(session, initialState.getCurrentValue());
+  }
+
+  @Override
+  public void insertValue(SharedSessionContractImplementor session, long currentValue) {
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Inserting initial state with currentValue={} for sequence '{}'", currentValue, name);
+    }
+
+    int affectedRows = executeInsert(session, currentValue);
     if (affectedRows == 0) {
       String msg =
           "Failed to insert sequence state for [" + name + "]. Affected rows = " + affectedRows;
       log.error(msg);
       throw new IllegalStateException(msg);
     }
+    recorder.written(name, currentValue);
+
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Inserted initial state with currentValue={} for sequence '{}'", currentValue, name);
+    }
+  }
+
+  /**
+   * Inserts the initial state unless a row for the sequence already exists, without failing on the
+   * primary key when concurrent transactions initialize the same sequence. Uses {@code INSERT ...
+   * ON CONFLICT DO NOTHING} on PostgreSQL and CockroachDB, {@code INSERT IGNORE} on MySQL and
+   * MariaDB, {@code MERGE} on H2, DB2, Oracle and SQL Server, and a plain insert elsewhere.
+   *
+   * <p>H2 does not see the row inserted by a concurrent transaction until it commits, so its
+   * {@code MERGE} waits on that row and then fails on the primary key; such a duplicate key is
+   * taken as the row already existing.
+   *
+   * @return {@code true} if the row was inserted, {@code false} if it already existed
+   */
+  public boolean insertIfAbsent(
+      SharedSessionContractImplementor session, StandardSequenceState initialState) {
+    long currentValue = initialState.getCurrentValue();
+    Dialect dialect = session.getFactory().getJdbcServices().getDialect();
+    InsertIfAbsentSql rendered = insertIfAbsentSql(dialect);
+    if (rendered.sql() == null) {
+      insert(session, initialState);
+      return true;
+    }
+
+    log.debug(
+        "Inserting initial state with currentValue={} for sequence '{}' if absent",
+        currentValue,
+        name);
+
+    String sql = rendered.sql();
+    int affectedRows;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      if (rendered.matchesName()) {
+        statement.setString(index++, name);
+      }
+      statement.setString(index++, name);
+      statement.setLong(index++, currentValue);
+      if (bindsCreatedAt()) {
+        statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      affectedRows = jdbcCoordinator.getResultSetReturn().executeUpdate(statement, sql);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence state for [" + name + "]", sql);
+    } catch (ConstraintViolationException e) {
+      if (!(dialect instanceof H2Dialect) || !DUPLICATE_KEY_STATE.equals(e.getSQLState())) {
+        throw session.getExceptionConverter().convert(e);
+      }
+      log.debug("State for sequence '{}' was inserted concurrently", name);
+      affectedRows = 0;
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.INSERT, start);
+    }
+
+    if (affectedRows == 0) {
+      log.debug("State for sequence '{}' already exists", name);
+      return false;
+    }
+    recorder.written(name, currentValue);
 
     log.debug("Inserted initial state with currentValue={} for sequence '{}'", currentValue, name);
+    return true;
+  }
+
+  /**
+   * Insert-if-absent of {@code dialect}, rendered on first use. Binds the name once more ahead of
+   * the values of the insert when {@link InsertIfAbsentSql#matchesName()}, and has no SQL when the
+   * dialect has no such statement.
+   */
+  InsertIfAbsentSql insertIfAbsentSql(Dialect dialect) {
+    InsertIfAbsentSql rendered = insertIfAbsentSql;
+    if (rendered == null || rendered.dialect() != dialect) {
+      rendered = renderInsertIfAbsent(dialect);
+      insertIfAbsentSql = rendered;
+    }
+    return rendered;
+  }
+
+  private InsertIfAbsentSql renderInsertIfAbsent(Dialect dialect) {
+    String columns = nameColumn + ", " + currentValueColumn + ", " + createdAtColumn;
+    String values =
+        "?, ?, "
+            + (timestampMode == StandardSequenceTimestampMode.DATABASE ? "CURRENT_TIMESTAMP" : "?");
+
+    if (dialect instanceof PostgreSQLDialect || dialect instanceof CockroachDialect) {
+      String sql =
+          "INSERT INTO "
+              + tableName
+              + "("
+              + columns
+              + ") VALUES("
+              + values
+              + ") ON CONFLICT ("
+              + nameColumn
+              + ") DO NOTHING";
+      return new InsertIfAbsentSql(dialect, sql, false);
+    }
+    if (dialect instanceof MySQLDialect) {
+      String sql = "INSERT IGNORE INTO " + tableName + "(" + columns + ") VALUES(" + values + ")";
+      return new InsertIfAbsentSql(dialect, sql, false);
+    }
+
+    String source;
+    String target = tableName;
+    String terminator = "";
+    if (dialect instanceof H2Dialect) {
+      source = "SELECT 1 AS one";
+    } else if (dialect instanceof DB2Dialect) {
+      source = "SELECT 1 AS one FROM SYSIBM.SYSDUMMY1";
+    } else if (dialect instanceof OracleDialect) {
+      source = "SELECT 1 AS one FROM DUAL";
+    } else if (dialect instanceof SQLServerDialect) {
+      source = "SELECT 1 AS one";
+      target = tableName + " WITH (HOLDLOCK)";
+      terminator = ";";
+    } else {
+      return new InsertIfAbsentSql(dialect, null, false);
+    }
+    String sql =
+        "MERGE INTO "
+            + target
+            + " USING ("
+            + source
+            + ") s ON ("
+            + tableName
+            + "."
+            + nameColumn
+            + " = ?) WHEN NOT MATCHED THEN INSERT ("
+            + columns
+            + ") VALUES("
+            + values
+            + ")"
+            + terminator;
+    return new InsertIfAbsentSql(dialect, sql, true);
   }
 
   @Override
   public StandardSequenceState update(
       SharedSessionContractImplementor session, StandardSequenceState nextState) {
     long currentValue = nextState.getCurrentValue();
-    log.debug("Updating next state with currentValue={} for sequence '{}'", currentValue, name);
-
-    int affectedRows =
-        session
-            .createNativeMutationQuery(
-                "UPDATE "
-                    + tableName
-                    + " SET "
-                    + currentValueColumn
-                    + " = :currentValue, "
-                    + lastModifiedAtColumn
-                    + " = :lastModifiedAt"
-                    + " WHERE "
-                    + nameColumn
-                    + " = :name")
-            .setParameter("name", name)
-            .setParameter("currentValue", currentValue)
-            .setParameter("lastModifiedAt", LocalDateTime.now())
-            .executeUpdate();
+    updateValue(session, currentValue);
+    return new StandardSequenceState(currentValue);
+  }
+
+  @Override
+  public void updateValue(SharedSessionContractImplementor session, long currentValue) {
+    if (log.isDebugEnabled()) {
+      log.debug("Updating next state with currentValue={} for sequence '{}'", currentValue, name);
+    }
+
+    int affectedRows = executeUpdate(session, currentValue, false);
+    if (affectedRows == 0) {
+      String msg =
+          "Failed to update sequence state for [" + name + "]. Affected rows = " + affectedRows;
+      log.error(msg);
+      throw new IllegalStateException(msg);
+    }
+    recorder.written(name, currentValue);
+
+    if (log.isDebugEnabled()) {
+      log.debug("Updated next state with currentValue={} for sequence '{}'", currentValue, name);
+    }
+  }
+
+  /**
+   * Writes the last value of a reserved block of values, see {@link
+   * StandardSequenceTimestampMode#ON_REFILL}.
+   */
+  public void updateBlock(
+      SharedSessionContractImplementor session, StandardSequenceState lastState) {
+    long currentValue = lastState.getCurrentValue();
+    log.debug("Updating block state with currentValue={} for sequence '{}'", currentValue, name);
+
+    int affectedRows = executeUpdate(session, currentValue, true);
     if (affectedRows == 0) {
       String msg =
           "Failed to update sequence state for [" + name + "]. Affected rows = " + affectedRows;
       log.error(msg);
       throw new IllegalStateException(msg);
     }
+    recorder.written(name, currentValue);
+
+    log.debug("Updated block state with currentValue={} for sequence '{}'", currentValue, name);
+  }
+
+  /**
+   * Writes {@code nextValue} only if the current value is still {@code expectedValue}, for {@link
+   * StandardSequenceUpdateMode#COMPARE_AND_SET} allocations.
+   *
+   * @param block whether {@code nextValue} is the last value of a reserved block, see {@link
+   *     StandardSequenceTimestampMode#ON_REFILL}
+   * @return {@code true} if the value was written, {@code false} if a concurrent allocation
+   *     changed it first
+   */
+  public boolean compareAndSetValue(
+      SharedSessionContractImplementor session,
+      long expectedValue,
+      long nextValue,
+      boolean block) {
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Updating currentValue from {} to {} for sequence '{}'", expectedValue, nextValue, name);
+    }
+
+    String sql = block ? compareAndSetBlockSql : compareAndSetSql;
+    int affectedRows;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      statement.setLong(index++, nextValue);
+      if (bindsLastModifiedAt(block)) {
+        statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      statement.setString(index++, name);
+      statement.setLong(index, expectedValue);
+      affectedRows = jdbcCoordinator.getResultSetReturn().executeUpdate(statement, sql);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence state for [" + name + "]", sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.UPDATE, start);
+    }
+
+    if (affectedRows == 0) {
+      log.debug("Sequence '{}' changed concurrently from currentValue={}", name, expectedValue);
+      return false;
+    }
+    recorder.written(name, nextValue);
+    return true;
+  }
+
+  /**
+   * Loads and locks the current values of the rows {@code names} of this sequence table in one
+   * statement, in the order of their names so that concurrent callers lock them in the same order.
+   *
+   * @return the current values by name, without the rows that do not exist
+   */
+  public Map<String, Long> loadValues(
+      SharedSessionContractImplementor session, Collection<String> names) {
+    if (names.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Loading current values for sequences {} from table '{}'", names, tableName);
+    }
+
+    String sql =
+        "SELECT "
+            + nameColumn
+            + ", "
+            + currentValueColumn
+            + " FROM "
+            + tableName
+            + " WHERE "
+            + nameColumn
+            + " IN ("
+            + placeholders(names.size())
+            + ") ORDER BY "
+            + nameColumn
+            + " FOR UPDATE";
+
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      for (String rowName : names) {
+        statement.setString(index++, rowName);
+      }
+
+      Map<String, Long> currentValues = new HashMap<>();
+      ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, sql);
+      while (resultSet.next()) {
+        currentValues.put(resultSet.getString(1), resultSet.getLong(2));
+      }
+
+      if (log.isDebugEnabled()) {
+        log.debug("Loaded current values {} from table '{}'", currentValues, tableName);
+      }
+      return currentValues;
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to load sequence states for " + names, sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.LOAD, start);
+    }
+  }
+
+  /**
+   * Writes the current values of several rows of this sequence table in one {@code UPDATE ... SET
+   * ... = CASE ... END WHERE ... IN (...)} statement. The values written are not reported to the
+   * recorder of this query, as the rows belong to other sequences: callers report each of them
+   * with {@link #written(long)} on the query of its row.
+   *
+   * @throws IllegalStateException if any of the rows does not exist
+   */
+  public void updateValues(SharedSessionContractImplementor session, Map<String, Long> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Updating current values {} in table '{}'", values, tableName);
+    }
+
+    StringBuilder cases = new StringBuilder();
+    for (int i = 0; i < values.size(); i++) {
+      cases.append(" WHEN ? THEN ?");
+    }
+    String sql =
+        "UPDATE "
+            + tableName
+            + " SET "
+            + currentValueColumn
+            + " = CASE "
+            + nameColumn
+            + cases
+            + " END"
+            + lastModifiedAtAssignment(true, "?")
+            + " WHERE "
+            + nameColumn
+            + " IN ("
+            + placeholders(values.size())
+            + ")";
+
+    int affectedRows;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      for (Map.Entry<String, Long> value : values.entrySet()) {
+        statement.setString(index++, value.getKey());
+        statement.setLong(index++, value.getValue());
+      }
+      if (bindsLastModifiedAt(true)) {
+        statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      for (String rowName : values.keySet()) {
+        statement.setString(index++, rowName);
+      }
+      affectedRows = jdbcCoordinator.getResultSetReturn().executeUpdate(statement, sql);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence states for " + values.keySet(), sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.UPDATE, start);
+    }
+
+    if (affectedRows != values.size()) {
+      String msg =
+          "Failed to update sequence states for "
+              + values.keySet()
+              + ". Affected rows = "
+              + affectedRows;
+      log.error(msg);
+      throw new IllegalStateException(msg);
+    }
+  }
+
+  /** Reports {@code currentValue} written to the row of this query by another query's statement. */
+  void written(long currentValue) {
+    recorder.written(name, currentValue);
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private int executeInsert(SharedSessionContractImplementor session, long currentValue) {
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement =
+        jdbcCoordinator.getStatementPreparer().prepareStatement(insertSql);
+    try {
+      statement.setString(1, name);
+      statement.setLong(2, currentValue);
+      if (bindsCreatedAt()) {
+        statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      return jdbcCoordinator.getResultSetReturn().executeUpdate(statement, insertSql);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence state for [" + name + "]", insertSql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.INSERT, start);
+    }
+  }
+
+  private int executeUpdate(
+      SharedSessionContractImplementor session, long currentValue, boolean block) {
+    String sql = block ? updateBlockSql : updateSql;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      statement.setLong(index++, currentValue);
+      if (bindsLastModifiedAt(block)) {
+        statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      statement.setString(index, name);
+      return jdbcCoordinator.getResultSetReturn().executeUpdate(statement, sql);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence state for [" + name + "]", sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.UPDATE, start);
+    }
+  }
 
-    log.debug("Updated next state with currentValue={} for sequence '{}'", currentValue, name);
+  private static RuntimeException convert(
+      SharedSessionContractImplementor session, SQLException e, String message, String sql) {
+    JDBCException converted =
+        session.getFactory().getJdbcServices().getSqlExceptionHelper().convert(e, message, sql);
+    return session.getExceptionConverter().convert(converted);
+  }
+
+  private static void release(JdbcCoordinator jdbcCoordinator, PreparedStatement statement) {
+    jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+    jdbcCoordinator.afterStatementExecution();
+  }
+
+  /**
+   * Whether the session's dialect can advance the sequence and read the new value back in a
+   * single statement, see {@link #increment(SharedSessionContractImplementor, StandardSequence)}.
+   */
+  public boolean supportsIncrement(SharedSessionContractImplementor session) {
+    Dialect dialect = session.getFactory().getJdbcServices().getDialect();
+    return dialect instanceof H2Dialect
+        || dialect instanceof DB2Dialect
+        || dialect instanceof PostgreSQLDialect
+        || dialect instanceof CockroachDialect
+        || dialect instanceof SQLServerDialect;
+  }
+
+  /**
+   * Advances the current value by one step of {@code config} and reads it back in a single
+   * statement, cycling back to the initial value or refusing to go past the bound as {@link
+   * StandardSequenceStrategy#nextState(StandardSequenceState)} would.
+   *
+   * @return the next state, or {@code null} when no row was advanced, either because it does not
+   *     exist or because the non-cycling sequence is exhausted
+   */
+  public StandardSequenceState increment(
+      SharedSessionContractImplementor session, StandardSequence config) {
+    IncrementSql rendered =
+        incrementSql(session.getFactory().getJdbcServices().getDialect(), config);
+    if (rendered.sql() == null) {
+      log.debug("No single step fits between the bounds of sequence '{}'", name);
+      return null;
+    }
+
+    log.debug("Incrementing current state by {} for sequence '{}'", config.incrementValue(), name);
+
+    String sql = rendered.sql();
+    long currentValue;
+    long start = recorder.start();
+    JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+    PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+    try {
+      int index = 1;
+      if (config.cycle()) {
+        statement.setLong(index++, rendered.limit());
+        statement.setLong(index++, config.incrementValue());
+        statement.setLong(
+            index++, config.descending() ? config.maxValue() : config.initialValue());
+      } else {
+        statement.setLong(index++, config.incrementValue());
+      }
+      if (bindsLastModifiedAt(false)) {
+        statement.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now()));
+      }
+      statement.setString(index++, name);
+      if (!config.cycle()) {
+        statement.setLong(index, rendered.limit());
+      }
+
+      ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, sql);
+      if (!resultSet.next()) {
+        log.debug("No state incremented for sequence '{}'", name);
+        return null;
+      }
+      currentValue = resultSet.getLong(1);
+
+    } catch (SQLException e) {
+      throw convert(session, e, "Failed to write sequence state for [" + name + "]", sql);
+    } catch (HibernateException e) {
+      throw session.getExceptionConverter().convert(e);
+    } finally {
+      release(jdbcCoordinator, statement);
+      recorder.record(Operation.UPDATE, start);
+    }
+    recorder.written(name, currentValue);
+
+    log.debug("Incremented currentValue={} for sequence '{}'", currentValue, name);
     return new StandardSequenceState(currentValue);
   }
+
+  /** Single-statement increment of {@code dialect} and {@code config}, rendered on first use. */
+  private IncrementSql incrementSql(Dialect dialect, StandardSequence config) {
+    IncrementSql rendered = incrementSql;
+    if (rendered == null || rendered.dialect() != dialect || rendered.config() != config) {
+      rendered = renderIncrement(dialect, config);
+      incrementSql = rendered;
+    }
+    return rendered;
+  }
+
+  /**
+   * Binds the limit, the increment and the cycle value when cycling, or only the increment
+   * otherwise, then the timestamp if {@link #bindsLastModifiedAt(boolean)}, the name, and the limit
+   * when not cycling.
+   */
+  private IncrementSql renderIncrement(Dialect dialect, StandardSequence config) {
+    long limit;
+    try {
+      limit =
+          config.descending()
+              ? Math.addExact(config.initialValue(), (long) config.incrementValue())
+              : Math.subtractExact(config.maxValue(), (long) config.incrementValue());
+    } catch (ArithmeticException e) {
+      return new IncrementSql(dialect, config, null, 0);
+    }
+
+    String comparison = config.descending() ? " >= " : " <= ";
+    String nextValue = currentValueColumn + (config.descending() ? " - " : " + ") + "?";
+    String setClause =
+        currentValueColumn
+            + " = "
+            + (config.cycle()
+                ? "CASE WHEN "
+                    + currentValueColumn
+                    + comparison
+                    + "? THEN "
+                    + nextValue
+                    + " ELSE ? END"
+                : nextValue)
+            + lastModifiedAtAssignment(false, "?");
+    String whereClause =
+        nameColumn
+            + " = ?"
+            + (config.cycle() ? "" : " AND " + currentValueColumn + comparison + "?");
+
+    String sql;
+    if (dialect instanceof SQLServerDialect) {
+      sql =
+          "UPDATE "
+              + tableName
+              + " SET "
+              + setClause
+              + " OUTPUT inserted."
+              + currentValueColumn
+              + " WHERE "
+              + whereClause;
+    } else {
+      String update = "UPDATE " + tableName + " SET " + setClause + " WHERE " + whereClause;
+      sql =
+          dialect instanceof H2Dialect || dialect instanceof DB2Dialect
+              ? "SELECT " + currentValueColumn + " FROM FINAL TABLE (" + update + ")"
+              : update + " RETURNING " + currentValueColumn;
+    }
+    return new IncrementSql(dialect, config, sql, limit);
+  }
+
+  /**
+   * Insert-if-absent statement rendered for {@code dialect}, {@code null} when it has none.
+   *
+   * @param matchesName whether the statement binds the name to match the existing row before the
+   *     values of the insert
+   */
+  record InsertIfAbsentSql(Dialect dialect, String sql, boolean matchesName) {}
+
+  /**
+   * Single-statement increment rendered for {@code dialect} and {@code config}, {@code null} when
+   * no single step fits between the bounds of the sequence.
+   */
+  private record IncrementSql(Dialect dialect, StandardSequence config, String sql, long limit) {}
 }
@@ -0,0 +1,211 @@
+package im.hibernate.id.generators.standard;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.reactive.id.ReactiveIdentifierGenerator;
+import org.hibernate.reactive.pool.ReactiveConnection;
+import org.hibernate.reactive.pool.ReactiveConnectionPool;
+import org.hibernate.reactive.session.ReactiveConnectionSupplier;
+import org.hibernate.service.ServiceRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Non-blocking counterpart of {@link StandardSequenceGenerator} for Hibernate Reactive.
+ *
+ * <p>Values are handed out from memory by a {@link StandardSequenceDispenser}, so only block
+ * refills are asynchronous. Each refill reserves {@link StandardSequence#allocationSize()} values
+ * with {@code SELECT ... FOR UPDATE} in its own transaction, on a connection of the {@link
+ * ReactiveConnectionPool}, as a reserved block outlives the transaction that triggered it. A
+ * missing row is initialized without failing when concurrent generators initialize it too. Striped,
+ * combining, adaptive, prefetching and native sequences and the alternative update modes are not
+ * supported.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceReactiveGenerator implements ReactiveIdentifierGenerator<Long> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final StandardSequence config;
+  private final StandardSequenceStrategy strategy;
+  private final StandardSequenceReactiveQuery query;
+  private final Supplier<ReactiveConnectionPool> connectionPool;
+  private final StandardSequenceDispenser dispenser;
+
+  public StandardSequenceReactiveGenerator(
+      ReactiveStandardSequence annotation,
+      Member member,
+      CustomIdGeneratorCreationContext creationContext) {
+    this(
+        annotation.value(),
+        creationContext.getDatabase().getDialect(),
+        connectionPool(creationContext.getServiceRegistry()));
+  }
+
+  StandardSequenceReactiveGenerator(
+      StandardSequence config, Dialect dialect, Supplier<ReactiveConnectionPool> connectionPool) {
+    this(
+        config,
+        new StandardSequenceStrategy(config),
+        new StandardSequenceReactiveQuery(
+            new StandardSequenceQuery(
+                config.sequenceTable(),
+                config.nameColumn(),
+                config.currentValueColumn(),
+                config.createdAtColumn(),
+                config.lastModifiedAtColumn(),
+                config.name(),
+                config.timestamps()),
+            dialect),
+        connectionPool);
+  }
+
+  StandardSequenceReactiveGenerator(
+      StandardSequence config,
+      StandardSequenceStrategy strategy,
+      StandardSequenceReactiveQuery query,
+      Supplier<ReactiveConnectionPool> connectionPool) {
+    this.config = Validate.notNull(config, "config cannot be null");
+    this.strategy = Validate.notNull(strategy, "strategy cannot be null");
+    this.query = Validate.notNull(query, "query cannot be null");
+    this.connectionPool = Validate.notNull(connectionPool, "connectionPool cannot be null");
+
+    if (config.backend() != StandardSequenceBackend.TABLE
+        || config.updateMode() != StandardSequenceUpdateMode.SELECT_FOR_UPDATE
+        || config.stripes() > 1
+        || config.combining()
+        || config.maxAllocationSize() > 0
+        || config.prefetchThreshold() > 0) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. Reactive sequence ["
+              + config.name()
+              + "] supports only the TABLE backend with SELECT_FOR_UPDATE, one stripe, and no"
+              + " combining, maxAllocationSize or prefetchThreshold");
+    }
+    this.dispenser = new StandardSequenceDispenser(config.incrementValue(), config.descending());
+  }
+
+  @Override
+  public CompletionStage<Long> generate(ReactiveConnectionSupplier session, Object entity) {
+    return dispenser.nextAsync(this::refill);
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+
+  @Override
+  public boolean generatedOnExecution() {
+    return false;
+  }
+
+  /** Resolves the pool lazily, as Hibernate Reactive starts it after the generators are built. */
+  private static Supplier<ReactiveConnectionPool> connectionPool(ServiceRegistry serviceRegistry) {
+    return () -> serviceRegistry.requireService(ReactiveConnectionPool.class);
+  }
+
+  /** Reserves the next block on a connection of its own, closed whatever the outcome. */
+  private CompletionStage<StandardSequenceBlock> refill() {
+    return connectionPool
+        .get()
+        .getConnection()
+        .thenCompose(
+            connection ->
+                reserveBlockInTransaction(connection)
+                    .handle(
+                        (block, failure) ->
+                            connection.close().thenCompose(ignored -> outcome(block, failure)))
+                    .thenCompose(Function.identity()));
+  }
+
+  private static <T> CompletionStage<T> outcome(T result, Throwable failure) {
+    return failure == null
+        ? CompletableFuture.completedFuture(result)
+        : CompletableFuture.failedFuture(failure);
+  }
+
+  private CompletionStage<StandardSequenceBlock> reserveBlockInTransaction(
+      ReactiveConnection connection) {
+    return connection
+        .beginTransaction()
+        .thenCompose(ignored -> reserveBlock(connection))
+        .thenCompose(block -> connection.commitTransaction().thenApply(ignored -> block))
+        .exceptionallyCompose(
+            failure -> {
+              log.warn("Failed to reserve block for sequence '{}'", config.name(), failure);
+              return connection
+                  .rollbackTransaction()
+                  .handle((ignored, rollbackFailure) -> null)
+                  .thenCompose(ignored -> CompletableFuture.failedFuture(failure));
+            });
+  }
+
+  private CompletionStage<StandardSequenceBlock> reserveBlock(ReactiveConnection connection) {
+    return query
+        .load(connection)
+        .thenCompose(
+            currentState -> {
+              if (currentState == null) {
+                StandardSequenceState firstState = strategy.initialState();
+                StandardSequenceState lastState = lastState(firstState);
+                return query
+                    .insertIfAbsent(connection, lastState)
+                    .thenCompose(
+                        inserted ->
+                            inserted
+                                ? CompletableFuture.completedFuture(block(firstState, lastState))
+                                : reserveInitializedBlock(connection));
+              }
+              return reserveNextBlock(connection, currentState);
+            });
+  }
+
+  /** Reserves the next block of a row initialized concurrently since it was found missing. */
+  private CompletionStage<StandardSequenceBlock> reserveInitializedBlock(
+      ReactiveConnection connection) {
+    return query
+        .load(connection)
+        .thenCompose(
+            currentState -> {
+              if (currentState == null) {
+                throw new IllegalStateException(
+                    "Failed to load sequence state for ["
+                        + config.name()
+                        + "] after initializing it");
+              }
+              return reserveNextBlock(connection, currentState);
+            });
+  }
+
+  private CompletionStage<StandardSequenceBlock> reserveNextBlock(
+      ReactiveConnection connection, StandardSequenceState currentState) {
+    StandardSequenceState firstState = strategy.nextState(currentState);
+    return query
+        .update(connection, lastState(firstState))
+        .thenApply(lastState -> block(firstState, lastState));
+  }
+
+  private StandardSequenceState lastState(StandardSequenceState firstState) {
+    return strategy.lastBlockState(firstState, config.allocationSize());
+  }
+
+  private StandardSequenceBlock block(
+      StandardSequenceState firstState, StandardSequenceState lastState) {
+    StandardSequenceBlock block =
+        new StandardSequenceBlock(firstState.getCurrentValue(), lastState.getCurrentValue());
+    log.debug("Reserved {} for sequence '{}'", block, config.name());
+    return block;
+  }
+}
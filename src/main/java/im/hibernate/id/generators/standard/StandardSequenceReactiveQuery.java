@@ -0,0 +1,149 @@
+package im.hibernate.id.generators.standard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.reactive.pool.ReactiveConnection;
+import org.hibernate.reactive.pool.impl.Parameters;
+import im.hibernate.id.generators.ReactiveSequenceQuery;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reactive implementation of {@link ReactiveSequenceQuery}, running the statements rendered by a
+ * {@link StandardSequenceQuery} over a {@link ReactiveConnection}. Updates always write the last
+ * value of a reserved block, with the timestamps of {@link StandardSequenceTimestampMode}.
+ *
+ * <p>Statements are rendered once, with the parameter markers of the dialect's reactive client,
+ * such as {@code $1} on PostgreSQL, as {@link Parameters} would for Hibernate Reactive's own
+ * statements.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceReactiveQuery implements ReactiveSequenceQuery<StandardSequenceState> {
+
+  private final StandardSequenceQuery query;
+  private final String loadSql;
+  private final String insertSql;
+  private final String insertIfAbsentSql;
+  private final boolean insertIfAbsentMatchesName;
+  private final String updateSql;
+
+  public StandardSequenceReactiveQuery(StandardSequenceQuery query, Dialect dialect) {
+    this.query = Validate.notNull(query, "query cannot be null");
+    Validate.notNull(dialect, "dialect cannot be null");
+
+    Parameters parameters = Parameters.instance(dialect);
+    StandardSequenceQuery.InsertIfAbsentSql insertIfAbsent = query.insertIfAbsentSql(dialect);
+    this.loadSql = parameters.process(query.loadSql());
+    this.insertSql = parameters.process(query.insertSql());
+    this.insertIfAbsentSql =
+        insertIfAbsent.sql() == null ? null : parameters.process(insertIfAbsent.sql());
+    this.insertIfAbsentMatchesName = insertIfAbsent.matchesName();
+    this.updateSql = parameters.process(query.updateBlockSql());
+  }
+
+  @Override
+  public CompletionStage<StandardSequenceState> load(ReactiveConnection connection) {
+    Validate.notNull(connection, "connection cannot be null");
+
+    return connection
+        .selectIdentifier(loadSql, new Object[] {query.name()}, Long.class)
+        .thenApply(
+            currentValue -> {
+              if (currentValue == null) {
+                log.info("Sequence state not found for [{}]", query.name());
+                return null;
+              }
+              return new StandardSequenceState(currentValue);
+            });
+  }
+
+  @Override
+  public CompletionStage<Void> insert(
+      ReactiveConnection connection, StandardSequenceState initialState) {
+    Validate.notNull(connection, "connection cannot be null");
+    Validate.notNull(initialState, "initialState cannot be null");
+
+    return connection
+        .update(insertSql, insertParameters(initialState, false))
+        .thenAccept(affectedRows -> verify(affectedRows, "insert"));
+  }
+
+  /**
+   * Inserts the initial state unless a row for the sequence already exists, without failing on the
+   * primary key when concurrent transactions initialize the same sequence, see {@link
+   * StandardSequenceQuery#insertIfAbsent}. Falls back to {@link #insert} when the dialect has no
+   * such statement.
+   *
+   * @return {@code true} if the row was inserted, {@code false} if it already existed
+   */
+  public CompletionStage<Boolean> insertIfAbsent(
+      ReactiveConnection connection, StandardSequenceState initialState) {
+    Validate.notNull(connection, "connection cannot be null");
+    Validate.notNull(initialState, "initialState cannot be null");
+
+    if (insertIfAbsentSql == null) {
+      return insert(connection, initialState).thenApply(ignored -> true);
+    }
+    return connection
+        .update(insertIfAbsentSql, insertParameters(initialState, insertIfAbsentMatchesName))
+        .thenApply(
+            affectedRows -> {
+              if (affectedRows == 0) {
+                log.debug("State for sequence '{}' already exists", query.name());
+                return false;
+              }
+              return true;
+            });
+  }
+
+  private Object[] insertParameters(StandardSequenceState initialState, boolean matchesName) {
+    List<Object> parameters = new ArrayList<>(4);
+    if (matchesName) {
+      parameters.add(query.name());
+    }
+    parameters.add(query.name());
+    parameters.add(initialState.getCurrentValue());
+    if (query.bindsCreatedAt()) {
+      parameters.add(LocalDateTime.now());
+    }
+    return parameters.toArray();
+  }
+
+  @Override
+  public CompletionStage<StandardSequenceState> update(
+      ReactiveConnection connection, StandardSequenceState nextState) {
+    Validate.notNull(connection, "connection cannot be null");
+    Validate.notNull(nextState, "nextState cannot be null");
+
+    Object[] parameters =
+        query.bindsLastModifiedAt(true)
+            ? new Object[] {nextState.getCurrentValue(), LocalDateTime.now(), query.name()}
+            : new Object[] {nextState.getCurrentValue(), query.name()};
+    return connection
+        .update(updateSql, parameters)
+        .thenApply(
+            affectedRows -> {
+              verify(affectedRows, "update");
+              return nextState;
+            });
+  }
+
+  private void verify(int affectedRows, String operation) {
+    if (affectedRows == 0) {
+      String msg =
+          "Failed to "
+              + operation
+              + " sequence state for ["
+              + query.name()
+              + "]. Affected rows = "
+              + affectedRows;
+      log.error(msg);
+      throw new IllegalStateException(msg);
+    }
+  }
+}
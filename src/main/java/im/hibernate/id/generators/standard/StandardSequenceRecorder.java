@@ -0,0 +1,44 @@
+package im.hibernate.id.generators.standard;
+
+/**
+ * Receives the measurements of one sequence: the statements run against its table or native
+ * sequence, the values written back to its rows, the values handed out, and the allocations
+ * retried. All methods do nothing by default, and {@link #start()} reads no clock, so that {@link
+ * #NOOP} costs nothing on the allocation path.
+ *
+ * <p>Implementations must be thread safe.
+ *
+ * @author Andy Lian
+ */
+public interface StandardSequenceRecorder {
+
+  /** Recorder ignoring all measurements. */
+  StandardSequenceRecorder NOOP = new StandardSequenceRecorder() {};
+
+  /** Kinds of statements run against a sequence. */
+  enum Operation {
+    LOAD,
+    INSERT,
+    UPDATE
+  }
+
+  /** Start time of a statement, in {@link System#nanoTime()} units when measured. */
+  default long start() {
+    return 0;
+  }
+
+  /** Records one round trip of {@code operation} started at {@code start}, failed or not. */
+  default void record(Operation operation, long start) {}
+
+  /** Records {@code currentValue} written to the row {@code name} of the sequence. */
+  default void written(String name, long currentValue) {}
+
+  /** Records {@code count} values handed out by the sequence. */
+  default void handedOut(long count) {}
+
+  /**
+   * Records an allocation retried after lock contention or a conflicting {@link
+   * StandardSequenceUpdateMode#COMPARE_AND_SET} update, see {@link StandardSequence#maxRetries()}.
+   */
+  default void retried() {}
+}
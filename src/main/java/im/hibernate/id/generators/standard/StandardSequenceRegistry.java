@@ -0,0 +1,82 @@
+package im.hibernate.id.generators.standard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.service.Service;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link StandardSequenceDispenser}s and {@link StandardSequenceAllocationSizer}s
+ * of the sequences of one service registry, keyed by {@link StandardSequence#sequenceTable()} and
+ * {@link StandardSequence#name()}.
+ *
+ * <p>Hibernate creates a {@link StandardSequenceGenerator} per annotated member, so generators of
+ * different entities pointing at the same sequence share the dispenser of the first one instead of
+ * caching their own blocks, and resizing the blocks of a sequence applies to all of them.
+ * Generators of the same sequence must be configured alike, a mismatch fails when the session
+ * factory is built.
+ *
+ * <p>Contributed to the service registry by {@code StandardSequenceServiceContributor}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceRegistry implements Service {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final transient ConcurrentMap<Key, StandardSequenceAllocationSizer> allocationSizers =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Returns the dispenser of the sequence of {@code config}, registering the one created by {@code
+   * dispenserFactory} if the sequence has none yet.
+   *
+   * @throws IdentifierGenerationException if the sequence is registered with another configuration
+   */
+  StandardSequenceDispenser dispenser(
+      StandardSequence config, Supplier<StandardSequenceDispenser> dispenserFactory) {
+    Validate.notNull(config, "config cannot be null");
+    Validate.notNull(dispenserFactory, "dispenserFactory cannot be null");
+
+    Key key = new Key(config.sequenceTable(), config.name());
+    Entry entry =
+        entries.computeIfAbsent(key, k -> new Entry(config, dispenserFactory.get()));
+    if (!entry.config().equals(config)) {
+      String msg =
+          "Invalid sequence configuration. Sequence '"
+              + config.name()
+              + "' on table '"
+              + config.sequenceTable()
+              + "' is configured as "
+              + config
+              + " but already registered as "
+              + entry.config();
+      log.error(msg);
+      throw new IdentifierGenerationException(msg);
+    }
+
+    log.debug(
+        "Using shared dispenser for sequence '{}' on table '{}'",
+        config.name(),
+        config.sequenceTable());
+    return entry.dispenser();
+  }
+
+  /** Returns the allocation sizer of the sequence of {@code config}, created on first use. */
+  StandardSequenceAllocationSizer allocationSizer(StandardSequence config) {
+    Validate.notNull(config, "config cannot be null");
+
+    return allocationSizers.computeIfAbsent(
+        new Key(config.sequenceTable(), config.name()),
+        key -> new StandardSequenceAllocationSizer(config));
+  }
+
+  private record Key(String sequenceTable, String name) {}
+
+  private record Entry(StandardSequence config, StandardSequenceDispenser dispenser) {}
+}
@@ -0,0 +1,110 @@
+package im.hibernate.id.generators.standard;
+
+import java.sql.SQLTransactionRollbackException;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hibernate.PessimisticLockException;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.exception.LockAcquisitionException;
+import jakarta.persistence.LockTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries isolated sequence work that failed on lock contention or lost a {@link
+ * StandardSequenceUpdateMode#COMPARE_AND_SET} update to a concurrent allocation, with exponential
+ * backoff and jitter, up to {@link StandardSequence#maxRetries()} times.
+ *
+ * <p>Failures are classified by the exceptions the dialect's {@link
+ * org.hibernate.exception.spi.SQLExceptionConversionDelegate} translated their SQL state and error
+ * code to: {@link LockAcquisitionException} for deadlocks, {@link PessimisticLockException} for
+ * lock timeouts, and their Jakarta Persistence counterparts after the session's exception
+ * conversion. A {@link SQLTransactionRollbackException} left untranslated is retried as well. Each
+ * attempt must run in its own transaction, as some databases abort the transaction that timed
+ * out. Every retry is reported to the {@link StandardSequenceRecorder} of the sequence.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+class StandardSequenceRetryPolicy {
+
+  private final String name;
+  private final int maxRetries;
+  private final StandardSequenceRecorder recorder;
+
+  StandardSequenceRetryPolicy(StandardSequence config, StandardSequenceRecorder recorder) {
+    this(config.name(), config.maxRetries(), recorder);
+  }
+
+  StandardSequenceRetryPolicy(String name, int maxRetries, StandardSequenceRecorder recorder) {
+    Validate.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+    this.name = name;
+    this.maxRetries = maxRetries;
+    this.recorder = Validate.notNull(recorder, "recorder cannot be null");
+  }
+
+  <T> T execute(Supplier<T> work) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        return work.get();
+
+      } catch (RuntimeException e) {
+        boolean conflict = isConflict(e);
+        if (conflict && attempt >= maxRetries) {
+          String msg =
+              "Failed to allocate from sequence ["
+                  + name
+                  + "] after "
+                  + attempt
+                  + " retries of conflicting updates";
+          log.error(msg);
+          throw new IdentifierGenerationException(msg, e);
+        }
+        if (attempt >= maxRetries || !(conflict || isLockContention(e))) {
+          throw e;
+        }
+
+        recorder.retried();
+        if (conflict) {
+          log.debug("Retrying conflicting update of sequence '{}' in a new transaction", name);
+        } else {
+          log.warn(
+              "Retrying allocation from sequence '{}' after lock contention, retry {} of {}: {}",
+              name,
+              attempt + 1,
+              maxRetries,
+              e.toString());
+        }
+        StandardSequenceBackoff.pause(attempt);
+      }
+    }
+  }
+
+  static boolean isConflict(Throwable e) {
+    return ExceptionUtils.indexOfThrowable(e, ConflictException.class) >= 0;
+  }
+
+  static boolean isLockContention(Throwable e) {
+    return ExceptionUtils.getThrowableList(e).stream()
+        .anyMatch(
+            cause ->
+                cause instanceof LockAcquisitionException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof jakarta.persistence.PessimisticLockException
+                    || cause instanceof LockTimeoutException
+                    || cause instanceof SQLTransactionRollbackException);
+  }
+
+  /**
+   * Failure of an isolated {@link StandardSequenceUpdateMode#COMPARE_AND_SET} allocation whose
+   * update lost to a concurrent one, rolling back its transaction to be retried in a new one.
+   */
+  static final class ConflictException extends IdentifierGenerationException {
+
+    private static final long serialVersionUID = 1L;
+
+    ConflictException(String name) {
+      super("Conflicting update of sequence [" + name + "]");
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package im.hibernate.id.generators.standard;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.Validate;
+import im.hibernate.id.generators.LongSequenceQuery;
+
+/**
+ * Live statistics of one {@link StandardSequenceGenerator}, read through its {@link
+ * StandardSequenceMXBean}: the values handed out, the database allocations, their latency and
+ * retries, and the last value written to each row of its sequence. Measurements are reported to
+ * {@code delegate} as well.
+ *
+ * <p>Rates are measured since a sample taken one to two {@link #RATE_WINDOW}s earlier, provided
+ * they are read at least once per window. Generators only collect statistics while their MXBean
+ * is enabled, see {@link StandardSequenceConstants#JMX_ENABLED}.
+ *
+ * @author Andy Lian
+ */
+final class StandardSequenceStatistics implements StandardSequenceRecorder {
+
+  /** Upper bounds of the allocation latency buckets in milliseconds, the last bucket unbounded. */
+  static final long[] LATENCY_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+  static final Duration RATE_WINDOW = Duration.ofMinutes(1);
+
+  private final StandardSequenceRecorder delegate;
+  private final Map<String, Integer> stripesByRow;
+  private final LongSupplier nanoClock;
+  private final LongAdder handedOut = new LongAdder();
+  private final LongAdder refills = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder[] latencies = new LongAdder[LATENCY_BOUNDS_MILLIS.length + 1];
+  private final Rate handOutRate;
+  private final Rate refillRate;
+
+  private final AtomicLongArray lastWrittenValues;
+
+  StandardSequenceStatistics(StandardSequence config, StandardSequenceRecorder delegate) {
+    this(config, delegate, System::nanoTime);
+  }
+
+  StandardSequenceStatistics(
+      StandardSequence config, StandardSequenceRecorder delegate, LongSupplier nanoClock) {
+    Validate.notNull(config, "config cannot be null");
+    this.delegate = Validate.notNull(delegate, "delegate cannot be null");
+    this.nanoClock = Validate.notNull(nanoClock, "nanoClock cannot be null");
+    this.stripesByRow =
+        config.stripes() == 1
+            ? Map.of(config.name(), 0)
+            : IntStream.range(0, config.stripes())
+                .boxed()
+                .collect(
+                    Collectors.toUnmodifiableMap(
+                        stripe -> StandardSequenceStrategy.stripeName(config.name(), stripe),
+                        Function.identity()));
+    this.lastWrittenValues = new AtomicLongArray(config.stripes());
+    for (int i = 0; i < config.stripes(); i++) {
+      lastWrittenValues.set(i, LongSequenceQuery.NO_VALUE);
+    }
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = new LongAdder();
+    }
+    this.handOutRate = new Rate(handedOut);
+    this.refillRate = new Rate(refills);
+  }
+
+  @Override
+  public long start() {
+    return delegate.start();
+  }
+
+  @Override
+  public void record(Operation operation, long start) {
+    delegate.record(operation, start);
+  }
+
+  @Override
+  public void written(String name, long currentValue) {
+    // only the rows of its own stripes count towards the last values written
+    Integer stripe = stripesByRow.get(name);
+    if (stripe != null) {
+      lastWrittenValues.set(stripe, currentValue);
+    }
+    delegate.written(name, currentValue);
+  }
+
+  @Override
+  public void handedOut(long count) {
+    handedOut.add(count);
+    delegate.handedOut(count);
+  }
+
+  @Override
+  public void retried() {
+    retries.increment();
+    delegate.retried();
+  }
+
+  /** Start time of a database allocation, to be passed to {@link #refilled(long)}. */
+  long startRefill() {
+    return nanoClock.getAsLong();
+  }
+
+  /** Records a database allocation started at {@code start}, failed or not. */
+  void refilled(long start) {
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - start);
+    int bucket = 0;
+    while (bucket < LATENCY_BOUNDS_MILLIS.length
+        && elapsedMillis >= LATENCY_BOUNDS_MILLIS[bucket]) {
+      bucket++;
+    }
+    latencies[bucket].increment();
+    refills.increment();
+  }
+
+  long handedOut() {
+    return handedOut.sum();
+  }
+
+  long refills() {
+    return refills.sum();
+  }
+
+  long retries() {
+    return retries.sum();
+  }
+
+  /** Number of database allocations by latency bucket, see {@link #LATENCY_BOUNDS_MILLIS}. */
+  long[] latencies() {
+    long[] counts = new long[latencies.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = latencies[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * Last value written to the row of {@code stripe}, or {@link LongSequenceQuery#NO_VALUE} before
+   * its first write.
+   */
+  long lastWrittenValue(int stripe) {
+    return lastWrittenValues.get(stripe);
+  }
+
+  /** Values handed out per second, recently. */
+  double handOutRate() {
+    return handOutRate.perSecond();
+  }
+
+  /** Database allocations per second, recently. */
+  double refillRate() {
+    return refillRate.perSecond();
+  }
+
+  /** Rate of a growing count, measured since the sample before last. */
+  private final class Rate {
+
+    private final LongAdder count;
+    private long previousNanos;
+    private long previousCount;
+    private long currentNanos;
+    private long currentCount;
+
+    private Rate(LongAdder count) {
+      this.count = count;
+      this.previousNanos = nanoClock.getAsLong();
+      this.currentNanos = previousNanos;
+    }
+
+    private synchronized double perSecond() {
+      long now = nanoClock.getAsLong();
+      long sum = count.sum();
+      if (now - currentNanos >= RATE_WINDOW.toNanos()) {
+        previousNanos = currentNanos;
+        previousCount = currentCount;
+        currentNanos = now;
+        currentCount = sum;
+      }
+
+      long elapsed = now - previousNanos;
+      return elapsed <= 0 ? 0 : (sum - previousCount) * 1e9 / elapsed;
+    }
+  }
+}
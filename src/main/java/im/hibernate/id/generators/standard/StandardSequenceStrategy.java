@@ -3,6 +3,7 @@ package im.hibernate.id.generators.standard;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.hibernate.id.IdentifierGenerationException;
+import im.hibernate.id.generators.LongSequenceStrategy;
 import im.hibernate.id.generators.SequenceStrategy;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,9 +13,16 @@ import lombok.extern.slf4j.Slf4j;
  * @author Andy Lian
  */
 @Slf4j
-public class StandardSequenceStrategy implements SequenceStrategy<StandardSequenceState> {
+public class StandardSequenceStrategy
+    implements SequenceStrategy<StandardSequenceState>, LongSequenceStrategy {
 
-  private final StandardSequence config;
+  private final String name;
+  private final long initialValue;
+  private final long maxValue;
+  private final long incrementValue;
+  private final boolean descending;
+  private final boolean cycle;
+  private final int stripes;
 
   public StandardSequenceStrategy(StandardSequence config) {
     Validate.notNull(config, "config cannot be null");
@@ -40,90 +48,388 @@ public class StandardSequenceStrategy implements SequenceStrategy<StandardSequen
               + ") must be greater than 0");
     }
 
-    this.config = config;
+    if (config.allocationSize() <= 0) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. allocationSize ("
+              + config.allocationSize()
+              + ") must be greater than 0");
+    }
+
+    if (config.maxAllocationSize() != 0 && config.maxAllocationSize() < config.allocationSize()) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. maxAllocationSize ("
+              + config.maxAllocationSize()
+              + ") must be 0 or not less than allocationSize ("
+              + config.allocationSize()
+              + ")");
+    }
+
+    if (config.prefetchThreshold() < 0 || config.prefetchThreshold() >= 1) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. prefetchThreshold ("
+              + config.prefetchThreshold()
+              + ") must be between 0 (inclusive) and 1 (exclusive)");
+    }
+
+    if (config.combining() && (!config.isolated() || config.allocationSize() > 1)) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. combining requires isolated and an allocationSize of 1"
+              + " (isolated="
+              + config.isolated()
+              + ", allocationSize="
+              + config.allocationSize()
+              + ")");
+    }
+
+    if (config.maxRetries() < 0) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. maxRetries ("
+              + config.maxRetries()
+              + ") must not be negative");
+    }
+
+    if (config.stripes() <= 0) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. stripes ("
+              + config.stripes()
+              + ") must be greater than 0");
+    }
+
+    // every stripe must own at least its first value, and the stripe step must fit in a long
+    long stripesSpan;
+    try {
+      stripesSpan = Math.multiplyExact(config.incrementValue(), (long) config.stripes());
+    } catch (ArithmeticException e) {
+      stripesSpan = -1;
+    }
+    long firstValuesSpan = stripesSpan - config.incrementValue();
+    if (stripesSpan < 0
+        || Long.compareUnsigned(config.maxValue() - config.initialValue(), firstValuesSpan) < 0) {
+      throw new IdentifierGenerationException(
+          "Invalid sequence configuration. stripes ("
+              + config.stripes()
+              + ") must not exceed the number of values between initialValue ("
+              + config.initialValue()
+              + ") and maxValue ("
+              + config.maxValue()
+              + ")");
+    }
+
+    this.name = config.name();
+    this.initialValue = config.initialValue();
+    this.maxValue = config.maxValue();
+    this.incrementValue = config.incrementValue();
+    this.descending = config.descending();
+    this.cycle = config.cycle();
+    this.stripes = config.stripes();
     log.debug(
         "Initialized {} with "
-            + "name={}, initialValue={}, maxValue={}, incrementValue={}, descending={}, cycle={}",
+            + "name={}, initialValue={}, maxValue={}, incrementValue={}, descending={}, cycle={}, "
+            + "allocationSize={}, maxAllocationSize={}, prefetchThreshold={}, stripes={}",
         this.getClass().getSimpleName(),
         config.name(),
         config.initialValue(),
         config.maxValue(),
         config.incrementValue(),
         config.descending(),
-        config.cycle());
+        config.cycle(),
+        config.allocationSize(),
+        config.maxAllocationSize(),
+        config.prefetchThreshold(),
+        config.stripes());
   }
 
+  private StandardSequenceStrategy(
+      String name,
+      long initialValue,
+      long maxValue,
+      long incrementValue,
+      boolean descending,
+      boolean cycle) {
+    this.name = name;
+    this.initialValue = initialValue;
+    this.maxValue = maxValue;
+    this.incrementValue = incrementValue;
+    this.descending = descending;
+    this.cycle = cycle;
+    this.stripes = 1;
+  }
+
+  /**
+   * Derives the strategy of one of the {@link StandardSequence#stripes()} rows of this sequence.
+   * Stripe {@code i} owns the values {@code i} steps away from the first value of the sequence,
+   * and advances by {@code stripes} steps at a time, so stripes hand out disjoint values. Each
+   * stripe cycles back to its own first value.
+   *
+   * @param stripe index of the stripe, from 0 (inclusive) to {@code stripes} (exclusive)
+   */
+  public StandardSequenceStrategy forStripe(int stripe) {
+    Validate.isTrue(
+        stripe >= 0 && stripe < stripes, "stripe must be between 0 and %d", stripes - 1);
+
+    long offset = stripe * incrementValue;
+    return new StandardSequenceStrategy(
+        stripeName(name, stripe),
+        descending ? initialValue : initialValue + offset,
+        descending ? maxValue - offset : maxValue,
+        incrementValue * stripes,
+        descending,
+        cycle);
+  }
+
+  /** Name of the row holding the state of a stripe of the sequence {@code name}. */
+  public static String stripeName(String name, int stripe) {
+    return name + "#" + stripe;
+  }
+
+  @Override
   public StandardSequenceState initialState() {
-    long initialValue = config.descending() ? config.maxValue() : config.initialValue();
-    log.debug(
-        "Creating initial state for sequence '{}' with value={}", config.name(), initialValue);
-    return new StandardSequenceState(initialValue);
+    return new StandardSequenceState(initialValue());
+  }
+
+  @Override
+  public long initialValue() {
+    long value = descending ? maxValue : initialValue;
+    if (log.isDebugEnabled()) {
+      log.debug("Creating initial state for sequence '{}' with value={}", name, value);
+    }
+    return value;
   }
 
   @Override
   public StandardSequenceState nextState(StandardSequenceState currentState) {
     Validate.notNull(currentState, "currentState cannot be null");
+    return new StandardSequenceState(nextValue(currentState.getCurrentValue()));
+  }
+
+  @Override
+  public long nextValue(long currentValue) {
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Calculating next state for sequence '{}' from currentValue={} (descending={})",
+          name,
+          currentValue,
+          descending);
+    }
+
+    return descending ? nextDescendingValue(currentValue) : nextAscendingValue(currentValue);
+  }
+
+  /**
+   * Derives the last state of a block of up to {@code blockSize} values starting at {@code
+   * firstState}. A block never runs past {@code maxValue} (or below {@code initialValue} when
+   * descending), so it may hold fewer values than requested and cycling only happens between
+   * blocks through {@link #nextState(StandardSequenceState)}.
+   */
+  public StandardSequenceState lastBlockState(StandardSequenceState firstState, int blockSize) {
+    Validate.notNull(firstState, "firstState cannot be null");
+    Validate.isTrue(blockSize > 0, "blockSize must be greater than 0");
+
+    long firstValue = firstState.getCurrentValue();
+    long availableSteps = availableSteps(firstValue);
+    long steps =
+        Long.compareUnsigned(availableSteps, blockSize - 1L) < 0 ? availableSteps : blockSize - 1L;
+
+    long lastValue =
+        descending
+            ? firstValue - steps * incrementValue
+            : firstValue + steps * incrementValue;
     log.debug(
-        "Calculating next state for sequence '{}' from currentValue={} (descending={})",
-        config.name(),
-        currentState.getCurrentValue(),
-        config.descending());
+        "Calculated block [{}..{}] of {} values for sequence '{}'",
+        firstValue,
+        lastValue,
+        steps + 1,
+        name);
+    return new StandardSequenceState(lastValue);
+  }
+
+  /**
+   * Number of values from {@code state}, inclusive, up to {@code maxValue} (down to {@code
+   * initialValue} when descending) before the sequence cycles or is exhausted, saturated at {@link
+   * Long#MAX_VALUE}.
+   */
+  public long remainingValues(StandardSequenceState state) {
+    Validate.notNull(state, "state cannot be null");
+
+    long availableSteps = availableSteps(state.getCurrentValue());
+    return availableSteps < 0 || availableSteps == Long.MAX_VALUE
+        ? Long.MAX_VALUE
+        : availableSteps + 1;
+  }
+
+  /**
+   * Derives {@code count} consecutive values of the sequence starting at {@code firstState},
+   * cycling back to the initial value when the bound is reached, as successive {@link
+   * #nextState(StandardSequenceState)} calls would.
+   *
+   * @throws IdentifierGenerationException if the non-cycling sequence is exhausted before {@code
+   *     count} values, or if {@code count} exceeds the values of one cycle
+   */
+  public long[] values(StandardSequenceState firstState, int count) {
+    Validate.isTrue(count > 0, "count must be greater than 0");
+
+    long step = descending ? -incrementValue : incrementValue;
+    long[] values = new long[count];
+    int filled = 0;
+    for (StandardSequenceBlock block : blocks(firstState, count)) {
+      long value = block.getFirstValue();
+      long blockSize = stepsBetween(block.getFirstValue(), block.getLastValue()) + 1;
+      for (long i = 0; i < blockSize; i++) {
+        values[filled++] = value;
+        value += step;
+      }
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Derived {} values [{}..{}] for sequence '{}'",
+          count,
+          values[0],
+          values[count - 1],
+          name);
+    }
+    return values;
+  }
 
-    return config.descending()
-        ? nextDescendingState(currentState)
-        : nextAccendingState(currentState);
+  /**
+   * Splits {@code count} consecutive values of the sequence starting at {@code firstState} into at
+   * most two blocks in constant time: the values up to the bound and, when cycling, the values
+   * from the initial value onwards.
+   *
+   * @throws IdentifierGenerationException if the non-cycling sequence is exhausted before {@code
+   *     count} values, or if {@code count} exceeds the values of one cycle
+   */
+  public StandardSequenceBlock[] blocks(StandardSequenceState firstState, long count) {
+    Validate.notNull(firstState, "firstState cannot be null");
+    Validate.isTrue(count > 0, "count must be greater than 0");
+
+    long cycleValues = cycleSteps();
+    if (cycle && cycleValues != 0 && Long.compareUnsigned(count, cycleValues) > 0) {
+      String msg =
+          "Cannot derive "
+              + count
+              + " values from sequence '"
+              + name
+              + "' without repeating values within one cycle";
+      log.error(msg);
+      throw new IdentifierGenerationException(msg);
+    }
+
+    long firstValue = firstState.getCurrentValue();
+    long availableSteps = availableSteps(firstValue);
+    if (Long.compareUnsigned(count - 1, availableSteps) <= 0) {
+      return new StandardSequenceBlock[] {
+        new StandardSequenceBlock(firstValue, move(firstValue, count - 1))
+      };
+    }
+    if (!cycle) {
+      throw exhausted(firstValue, count - 1);
+    }
+
+    long wrappedValue = descending ? maxValue : initialValue;
+    return new StandardSequenceBlock[] {
+      new StandardSequenceBlock(firstValue, move(firstValue, availableSteps)),
+      new StandardSequenceBlock(wrappedValue, move(wrappedValue, count - availableSteps - 2))
+    };
+  }
+
+  /**
+   * Number of values in one cycle of the sequence, to be read unsigned, or {@code 0} when the
+   * cycle spans all {@code 2^64} values of {@code long}.
+   */
+  private long cycleSteps() {
+    return availableSteps(descending ? maxValue : initialValue) + 1;
   }
 
-  private StandardSequenceState nextAccendingState(StandardSequenceState currentState) {
-    long currentValue = currentState.getCurrentValue();
-    long nextValue = Math.addExact(currentValue, config.incrementValue());
-    if (nextValue <= config.maxValue()) {
-      log.debug("Next ascending value for sequence '{}' = {}", config.name(), nextValue);
-      return new StandardSequenceState(nextValue);
-    } else if (config.cycle()) {
+  /** Number of steps from {@code from} to {@code to} in the direction of the sequence. */
+  private long stepsBetween(long from, long to) {
+    return Long.divideUnsigned(descending ? from - to : to - from, incrementValue);
+  }
+
+  /**
+   * Moves {@code value} by {@code steps} in the direction of the sequence. The product may
+   * overflow, but the result is exact as long as it lies within the bounds.
+   */
+  private long move(long value, long steps) {
+    return descending ? value - steps * incrementValue : value + steps * incrementValue;
+  }
+
+  private IdentifierGenerationException exhausted(long currentValue, long steps) {
+    String msg =
+        "Sequence '"
+            + name
+            + "' exhausted: cannot advance "
+            + steps
+            + " steps from currentValue ("
+            + currentValue
+            + ") within initialValue ("
+            + initialValue
+            + ") and maxValue ("
+            + maxValue
+            + ")";
+    log.error(msg);
+    return new IdentifierGenerationException(msg);
+  }
+
+  /** Number of steps from {@code value} to the bound of the sequence, to be read unsigned. */
+  private long availableSteps(long value) {
+    // the distance to the bound is exact when read unsigned, even if it overflows a signed long
+    long distance = descending ? value - initialValue : maxValue - value;
+    return Long.divideUnsigned(distance, incrementValue);
+  }
+
+  private long nextAscendingValue(long currentValue) {
+    long nextValue = Math.addExact(currentValue, incrementValue);
+    if (nextValue <= maxValue) {
+      if (log.isDebugEnabled()) {
+        log.debug("Next ascending value for sequence '{}' = {}", name, nextValue);
+      }
+      return nextValue;
+    } else if (cycle) {
       log.warn(
           "Ascending sequence '{}' reached maxValue={} at currentValue={}. Cycling back to initialValue={}",
-          config.name(),
-          config.maxValue(),
+          name,
+          maxValue,
           currentValue,
-          config.initialValue());
-      return initialState();
+          initialValue);
+      return initialValue();
     } else {
       String msg =
           "Sequence '"
-              + config.name()
+              + name
               + "' exhausted. nextValue ("
               + nextValue
               + ") exceeded maxValue ("
-              + config.maxValue()
+              + maxValue
               + ")";
       log.error(msg);
       throw new IdentifierGenerationException(msg);
     }
   }
 
-  private StandardSequenceState nextDescendingState(StandardSequenceState currentState) {
-    long currentValue = currentState.getCurrentValue();
-    long nextValue = Math.subtractExact(currentValue, config.incrementValue());
-    if (nextValue >= config.initialValue()) {
-      log.debug("Next descending value for sequence '{}' = {}", config.name(), nextValue);
-      return new StandardSequenceState(nextValue);
-    } else if (config.cycle()) {
+  private long nextDescendingValue(long currentValue) {
+    long nextValue = Math.subtractExact(currentValue, incrementValue);
+    if (nextValue >= initialValue) {
+      if (log.isDebugEnabled()) {
+        log.debug("Next descending value for sequence '{}' = {}", name, nextValue);
+      }
+      return nextValue;
+    } else if (cycle) {
       log.warn(
           "Descending sequence '{}' reached initialValue={} at currentValue={}. Cycling back to maxValue={}",
-          config.name(),
-          config.initialValue(),
+          name,
+          initialValue,
           currentValue,
-          config.maxValue());
-      return initialState();
+          maxValue);
+      return initialValue();
     } else {
       String msg =
           "Sequence '"
-              + config.name()
+              + name
               + "' exhausted: nextValue ("
               + nextValue
               + ") went below initialValue ("
-              + config.initialValue()
+              + initialValue
               + ")";
       log.error(msg);
       throw new IdentifierGenerationException(msg);
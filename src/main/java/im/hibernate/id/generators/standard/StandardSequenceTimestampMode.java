@@ -0,0 +1,29 @@
+package im.hibernate.id.generators.standard;
+
+/**
+ * How the {@code createdAt} and {@code lastModifiedAt} audit columns of a {@link StandardSequence}
+ * row are written.
+ *
+ * @author Andy Lian
+ */
+public enum StandardSequenceTimestampMode {
+
+  /** Writes the application's clock on insert and on every update. */
+  CLIENT,
+
+  /**
+   * Writes the database's {@code CURRENT_TIMESTAMP} on insert and on every update, without reading
+   * the application's clock or binding a parameter.
+   */
+  DATABASE,
+
+  /**
+   * Writes the application's clock on insert and on updates reserving a block of values, such as
+   * pooled refills and {@link StandardSequenceGenerator#reserve reservations}, but not on updates
+   * allocating a single value.
+   */
+  ON_REFILL,
+
+  /** Writes the application's clock on insert only, keeping updates as narrow as possible. */
+  NONE
+}
@@ -0,0 +1,30 @@
+package im.hibernate.id.generators.standard;
+
+/**
+ * How a {@link StandardSequence} row is advanced when allocating a value.
+ *
+ * @author Andy Lian
+ */
+public enum StandardSequenceUpdateMode {
+
+  /** Locks the row with {@code SELECT ... FOR UPDATE} and then updates it, in two statements. */
+  SELECT_FOR_UPDATE,
+
+  /**
+   * Advances the row and reads the new value back in a single statement, with the {@code maxValue}
+   * and {@code cycle} rules evaluated by the database. Falls back to {@link #SELECT_FOR_UPDATE}
+   * when the dialect has no such statement, when the row does not exist yet, and for pooled block
+   * reservations.
+   */
+  SINGLE_STATEMENT,
+
+  /**
+   * Reads the row without locking it and then updates it only if its value is unchanged, retrying
+   * up to {@link StandardSequence#maxRetries()} times when a concurrent allocation changed it
+   * first. Isolated allocations retry in a new transaction after a jittered backoff, allocations in
+   * the caller's transaction re-read the row with a locking read, so that neither keeps comparing
+   * against a stale {@code REPEATABLE READ} snapshot. Avoids lock queues on the row when conflicts
+   * are rare, such as with pooled block reservations.
+   */
+  COMPARE_AND_SET
+}
@@ -1,11 +1,19 @@
 package im.hibernate.id.generators.support;
 
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
 import org.hibernate.boot.ResourceStreamLocator;
 import org.hibernate.boot.spi.AdditionalMappingContributions;
 import org.hibernate.boot.spi.AdditionalMappingContributor;
 import org.hibernate.boot.spi.InFlightMetadataCollector;
 import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.mapping.PersistentClass;
+import im.hibernate.id.generators.standard.StandardSequence;
+import im.hibernate.id.generators.standard.StandardSequenceBackend;
 import im.hibernate.id.generators.standard.StandardSequenceDatabaseObject;
+import im.hibernate.id.generators.standard.StandardSequenceNativeDatabaseObject;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -24,5 +32,30 @@ public class DatabaseObjectsContributor implements AdditionalMappingContributor
     log.debug(
         "Registered Auxiliary Database Object: {}",
         StandardSequenceDatabaseObject.class.getSimpleName());
+
+    metadataCollector.getEntityBindings().stream()
+        .map(PersistentClass::getMappedClass)
+        .filter(Objects::nonNull)
+        .flatMap(DatabaseObjectsContributor::standardSequences)
+        .filter(config -> config.backend() == StandardSequenceBackend.NATIVE_SEQUENCE)
+        .forEach(
+            config -> {
+              metadataCollector.addAuxiliaryDatabaseObject(
+                  new StandardSequenceNativeDatabaseObject(config));
+
+              log.debug(
+                  "Registered Auxiliary Database Object: {} for sequence '{}'",
+                  StandardSequenceNativeDatabaseObject.class.getSimpleName(),
+                  config.name());
+            });
+  }
+
+  private static Stream<StandardSequence> standardSequences(Class<?> mappedClass) {
+    return Stream.concat(
+        FieldUtils.getFieldsListWithAnnotation(mappedClass, StandardSequence.class).stream()
+            .map(field -> field.getAnnotation(StandardSequence.class)),
+        MethodUtils.getMethodsListWithAnnotation(mappedClass, StandardSequence.class, true, true)
+            .stream()
+            .map(method -> MethodUtils.getAnnotation(method, StandardSequence.class, true, true)));
   }
 }
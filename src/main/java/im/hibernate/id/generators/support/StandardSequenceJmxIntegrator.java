@@ -0,0 +1,130 @@
+package im.hibernate.id.generators.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import im.hibernate.id.generators.standard.StandardSequenceConstants;
+import im.hibernate.id.generators.standard.StandardSequenceGenerator;
+import im.hibernate.id.generators.standard.StandardSequenceMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers the {@link StandardSequenceMXBean} of each {@link StandardSequenceGenerator} of a
+ * session factory with the platform MBean server once the session factory is created, and
+ * unregisters them when it is closed. Disabled unless {@value #JMX_ENABLED} is set to {@code true}.
+ *
+ * <p>MXBeans are named {@code im.hibernate.id:type=StandardSequence,sessionFactory=<name or
+ * uuid>,entity=<root entity name>}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceJmxIntegrator implements Integrator {
+
+  public static final String JMX_ENABLED = StandardSequenceConstants.JMX_ENABLED;
+
+  public static final String DOMAIN = "im.hibernate.id";
+
+  @Override
+  public void integrate(
+      Metadata metadata,
+      BootstrapContext bootstrapContext,
+      SessionFactoryImplementor sessionFactory) {
+    boolean enabled =
+        bootstrapContext
+            .getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSetting(JMX_ENABLED, StandardConverters.BOOLEAN, false);
+    if (enabled) {
+      sessionFactory.addObserver(new Observer(ManagementFactory.getPlatformMBeanServer()));
+    }
+  }
+
+  @Override
+  public void disintegrate(
+      SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    // MXBeans are unregistered by the observer once the session factory is closed
+  }
+
+  /** Registers the MXBeans of a session factory for its lifetime. */
+  private static final class Observer implements SessionFactoryObserver {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient MBeanServer mBeanServer;
+    private final transient List<ObjectName> names = new ArrayList<>();
+
+    private Observer(MBeanServer mBeanServer) {
+      this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+      SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+      String sessionFactoryName =
+          sessionFactory.getName() == null ? sessionFactory.getUuid() : sessionFactory.getName();
+
+      // subclasses share the generator of their root entity
+      Set<Generator> generators = Collections.newSetFromMap(new IdentityHashMap<>());
+      sessionFactory
+          .getMappingMetamodel()
+          .forEachEntityDescriptor(
+              descriptor -> {
+                if (descriptor.getGenerator() instanceof StandardSequenceGenerator generator
+                    && generators.add(generator)) {
+                  register(sessionFactoryName, descriptor.getRootEntityName(), generator);
+                }
+              });
+    }
+
+    private void register(
+        String sessionFactoryName, String entityName, StandardSequenceGenerator generator) {
+      try {
+        ObjectName name =
+            new ObjectName(
+                DOMAIN
+                    + ":type=StandardSequence,sessionFactory="
+                    + ObjectName.quote(sessionFactoryName)
+                    + ",entity="
+                    + ObjectName.quote(entityName));
+        mBeanServer.registerMBean(
+            new StandardMBean(generator.management(), StandardSequenceMXBean.class, true), name);
+        names.add(name);
+
+        log.debug("Registered MXBean: {}", name);
+      } catch (JMException e) {
+        log.warn("Failed to register MXBean of sequence for [{}]", entityName, e);
+      }
+    }
+
+    @Override
+    public void sessionFactoryClosed(SessionFactory factory) {
+      for (ObjectName name : names) {
+        try {
+          mBeanServer.unregisterMBean(name);
+          log.debug("Unregistered MXBean: {}", name);
+        } catch (JMException e) {
+          log.warn("Failed to unregister MXBean [{}]", name, e);
+        }
+      }
+      names.clear();
+    }
+  }
+}
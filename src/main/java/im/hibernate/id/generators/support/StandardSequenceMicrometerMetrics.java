@@ -0,0 +1,197 @@
+package im.hibernate.id.generators.support;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.Validate;
+import im.hibernate.id.generators.standard.StandardSequence;
+import im.hibernate.id.generators.standard.StandardSequenceMetrics;
+import im.hibernate.id.generators.standard.StandardSequenceRecorder;
+import im.hibernate.id.generators.standard.StandardSequenceState;
+import im.hibernate.id.generators.standard.StandardSequenceStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link StandardSequenceMetrics} publishing to a Micrometer {@link MeterRegistry}, with the meters
+ * of each sequence tagged by {@code name} and {@code table}:
+ *
+ * <ul>
+ *   <li>{@value #OPERATIONS}, a timer of the statements run, tagged by {@code operation} ({@code
+ *       load}, {@code insert} or {@code update})
+ *   <li>{@value #ROUND_TRIPS}, a counter of the statements run
+ *   <li>{@value #VALUES}, a counter of the values handed out
+ *   <li>{@value #REMAINING}, a gauge of the values left between the last value written to each
+ *       row and the bound of the sequence, {@link StandardSequence#maxValue()} or, when
+ *       descending, {@link StandardSequence#initialValue()}, summed over the stripes and unknown
+ *       until each of them was written
+ *   <li>{@value #WRAPS}, a counter of the rows cycling back to their first value
+ *   <li>{@value #RETRIES}, a counter of the allocations retried after lock contention or a
+ *       conflicting compare-and-set update
+ * </ul>
+ *
+ * <p>Added to the service registry with {@code StandardServiceRegistryBuilder#addService(
+ * StandardSequenceMetrics.class, new StandardSequenceMicrometerMetrics(meterRegistry))}.
+ *
+ * @author Andy Lian
+ */
+@Slf4j
+public class StandardSequenceMicrometerMetrics implements StandardSequenceMetrics {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String OPERATIONS = "standard.sequence.operations";
+
+  public static final String ROUND_TRIPS = "standard.sequence.round.trips";
+
+  public static final String VALUES = "standard.sequence.values";
+
+  public static final String REMAINING = "standard.sequence.remaining";
+
+  public static final String WRAPS = "standard.sequence.wraps";
+
+  public static final String RETRIES = "standard.sequence.retries";
+
+  private final transient MeterRegistry meterRegistry;
+  private final transient ConcurrentMap<Tags, Recorder> recorders = new ConcurrentHashMap<>();
+
+  public StandardSequenceMicrometerMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = Validate.notNull(meterRegistry, "meterRegistry cannot be null");
+  }
+
+  @Override
+  public StandardSequenceRecorder recorder(StandardSequence config) {
+    Validate.notNull(config, "config cannot be null");
+
+    Tags tags = Tags.of("name", config.name(), "table", config.sequenceTable());
+    return recorders.computeIfAbsent(
+        tags,
+        t -> {
+          log.debug("Registering meters for sequence '{}'", config.name());
+          return new Recorder(meterRegistry, config, t);
+        });
+  }
+
+  private static final class Recorder implements StandardSequenceRecorder {
+
+    private final boolean descending;
+    private final Map<String, StandardSequenceStrategy> rowStrategies;
+    private final Timer[] operations;
+    private final Counter roundTrips;
+    private final Counter values;
+    private final Counter wraps;
+    private final Counter retries;
+    private final ConcurrentMap<String, AtomicLong> lastValues = new ConcurrentHashMap<>();
+
+    private Recorder(MeterRegistry meterRegistry, StandardSequence config, Tags tags) {
+      this.descending = config.descending();
+      this.rowStrategies = rowStrategies(config);
+
+      Operation[] kinds = Operation.values();
+      this.operations = new Timer[kinds.length];
+      for (Operation kind : kinds) {
+        operations[kind.ordinal()] =
+            Timer.builder(OPERATIONS)
+                .description("Statements run against the sequence")
+                .tags(tags)
+                .tag("operation", kind.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+      }
+      this.roundTrips =
+          Counter.builder(ROUND_TRIPS)
+              .description("Database round trips of the sequence")
+              .tags(tags)
+              .register(meterRegistry);
+      this.values =
+          Counter.builder(VALUES)
+              .description("Values handed out by the sequence")
+              .tags(tags)
+              .register(meterRegistry);
+      this.wraps =
+          Counter.builder(WRAPS)
+              .description("Rows of the sequence cycling back to their first value")
+              .tags(tags)
+              .register(meterRegistry);
+      this.retries =
+          Counter.builder(RETRIES)
+              .description("Allocations of the sequence retried")
+              .tags(tags)
+              .register(meterRegistry);
+      Gauge.builder(REMAINING, this, Recorder::remaining)
+          .description("Values left before the bound of the sequence")
+          .tags(tags)
+          .strongReference(true)
+          .register(meterRegistry);
+    }
+
+    @Override
+    public long start() {
+      return System.nanoTime();
+    }
+
+    @Override
+    public void record(Operation operation, long start) {
+      operations[operation.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      roundTrips.increment();
+    }
+
+    @Override
+    public void written(String name, long currentValue) {
+      AtomicLong lastValue = lastValues.computeIfAbsent(name, n -> new AtomicLong(currentValue));
+      long previousValue = lastValue.getAndSet(currentValue);
+      if (descending ? currentValue > previousValue : currentValue < previousValue) {
+        wraps.increment();
+      }
+    }
+
+    @Override
+    public void handedOut(long count) {
+      values.increment(count);
+    }
+
+    @Override
+    public void retried() {
+      retries.increment();
+    }
+
+    private double remaining() {
+      // values following the last value written to each row, each stepping over the others
+      long remaining = 0;
+      for (Map.Entry<String, StandardSequenceStrategy> row : rowStrategies.entrySet()) {
+        AtomicLong lastValue = lastValues.get(row.getKey());
+        if (lastValue == null) {
+          return Double.NaN;
+        }
+        long rowRemaining =
+            row.getValue().remainingValues(new StandardSequenceState(lastValue.get()));
+        if (rowRemaining == Long.MAX_VALUE || remaining > Long.MAX_VALUE - rowRemaining) {
+          return Long.MAX_VALUE;
+        }
+        remaining += rowRemaining - 1;
+      }
+      return remaining;
+    }
+
+    /** Strategies of the rows of the sequence by name, one per stripe. */
+    private static Map<String, StandardSequenceStrategy> rowStrategies(StandardSequence config) {
+      StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+      if (config.stripes() == 1) {
+        return Map.of(config.name(), strategy);
+      }
+      Map<String, StandardSequenceStrategy> strategies = new HashMap<>();
+      for (int i = 0; i < config.stripes(); i++) {
+        strategies.put(
+            StandardSequenceStrategy.stripeName(config.name(), i), strategy.forStripe(i));
+      }
+      return Map.copyOf(strategies);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package im.hibernate.id.generators.support;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.service.spi.ServiceContributor;
+import im.hibernate.id.generators.standard.StandardSequenceRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class StandardSequenceServiceContributor implements ServiceContributor {
+
+  @Override
+  public void contribute(StandardServiceRegistryBuilder serviceRegistryBuilder) {
+    serviceRegistryBuilder.addService(
+        StandardSequenceRegistry.class, new StandardSequenceRegistry());
+
+    log.debug("Registered Service: {}", StandardSequenceRegistry.class.getSimpleName());
+  }
+}
@@ -0,0 +1,57 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceAllocationEvent}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceAllocationEventTests {
+
+  static class Local {
+
+    @StandardSequence(name = "test-event")
+    private long id;
+  }
+
+  private final StandardSequenceRecorder delegate = mock(StandardSequenceRecorder.class);
+
+  @Test
+  void begin_shareDisabledEvent_whenNotRecorded() throws NoSuchFieldException {
+    StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config());
+
+    assertThat(event).isSameAs(StandardSequenceAllocationEvent.DISABLED);
+    assertThat(event.recording()).isFalse();
+    assertThat(event.recorder(delegate, true)).isSameAs(delegate);
+  }
+
+  @Test
+  void recorder_addStatementTimes_whenRecorded() throws NoSuchFieldException {
+    try (Recording recording = new Recording()) {
+      recording.enable(StandardSequenceAllocationEvent.NAME);
+      recording.start();
+
+      StandardSequenceAllocationEvent event = StandardSequenceAllocationEvent.begin(config());
+      StandardSequenceRecorder recorder = event.recorder(delegate, true);
+      long start = recorder.start();
+      recorder.record(StandardSequenceRecorder.Operation.LOAD, start - 1_000);
+      recorder.record(StandardSequenceRecorder.Operation.UPDATE, start - 2_000);
+      event.finish();
+
+      assertThat(event.recording()).isTrue();
+      assertThat(event.sequenceName).isEqualTo("test-event");
+      assertThat(event.lockWait).isGreaterThanOrEqualTo(1_000);
+      assertThat(event.execution).isGreaterThanOrEqualTo(2_000);
+      verify(delegate).record(StandardSequenceRecorder.Operation.LOAD, start - 1_000);
+    }
+  }
+
+  private static StandardSequence config() throws NoSuchFieldException {
+    return Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+  }
+}
@@ -0,0 +1,111 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceAllocationSizer}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceAllocationSizerTests {
+
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  private StandardSequenceAllocationSizer newSizer(int minAllocationSize, int maxAllocationSize) {
+    return new StandardSequenceAllocationSizer(
+        "test-sequence",
+        minAllocationSize,
+        maxAllocationSize,
+        Duration.ofSeconds(1),
+        nanoClock::get);
+  }
+
+  @Test
+  void nextAllocationSize_fixed_whenNotAdaptive() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 10);
+
+    assertThat(sizer.isAdaptive()).isFalse();
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(10);
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(10);
+  }
+
+  @Test
+  void nextAllocationSize_grow_whenBlocksDrainedFast() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 50);
+
+    assertThat(sizer.isAdaptive()).isTrue();
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(10);
+
+    nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(20);
+
+    nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(40);
+
+    nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(50);
+  }
+
+  @Test
+  void nextAllocationSize_shrink_whenBlocksDrainedSlowly() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 80);
+
+    sizer.nextAllocationSize(Long.MAX_VALUE);
+    for (int i = 0; i < 3; i++) {
+      nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+      sizer.nextAllocationSize(Long.MAX_VALUE);
+    }
+
+    nanoClock.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(40);
+
+    nanoClock.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(40);
+
+    nanoClock.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(20);
+
+    nanoClock.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(10);
+
+    nanoClock.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(10);
+  }
+
+  @Test
+  void nextAllocationSize_notGrowPastRemainingValues() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 80);
+
+    sizer.nextAllocationSize(Long.MAX_VALUE);
+
+    nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+    assertThat(sizer.nextAllocationSize(15)).isEqualTo(15);
+
+    nanoClock.addAndGet(Duration.ofMillis(100).toNanos());
+    assertThat(sizer.nextAllocationSize(5)).isEqualTo(15);
+  }
+
+  @Test
+  void resize_replaceSize_whenNotAdaptive() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 10);
+
+    assertThat(sizer.resize(25)).isEqualTo(25);
+    assertThat(sizer.isAdaptive()).isFalse();
+    assertThat(sizer.allocationSize()).isEqualTo(25);
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(25);
+  }
+
+  @Test
+  void resize_clampToBounds_whenAdaptive() {
+    StandardSequenceAllocationSizer sizer = newSizer(10, 50);
+
+    assertThat(sizer.resize(100)).isEqualTo(50);
+    assertThat(sizer.resize(5)).isEqualTo(10);
+    assertThat(sizer.resize(30)).isEqualTo(30);
+    assertThat(sizer.isAdaptive()).isTrue();
+    assertThat(sizer.nextAllocationSize(Long.MAX_VALUE)).isEqualTo(30);
+  }
+}
@@ -0,0 +1,97 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceCombiner}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceCombinerTests {
+
+  private final SharedSessionContractImplementor session =
+      mock(SharedSessionContractImplementor.class);
+
+  @Test
+  void next_reserveOneValue_whenNotContended() {
+    AtomicLong nextValue = new AtomicLong(10L);
+    StandardSequenceCombiner combiner =
+        new StandardSequenceCombiner(
+            (s, count) -> {
+              assertThat(s).isSameAs(session);
+              assertThat(count).isOne();
+              return new long[] {nextValue.getAndIncrement()};
+            });
+
+    assertThat(combiner.next(session)).isEqualTo(10L);
+    assertThat(combiner.next(session)).isEqualTo(11L);
+  }
+
+  @Test
+  void next_uniqueValues_whenDrawnConcurrently() throws Exception {
+    AtomicLong nextValue = new AtomicLong();
+    AtomicInteger reservations = new AtomicInteger();
+    StandardSequenceCombiner combiner =
+        new StandardSequenceCombiner(
+            (s, count) -> {
+              reservations.incrementAndGet();
+              try {
+                Thread.sleep(1);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              long firstValue = nextValue.getAndAdd(count);
+              long[] values = new long[count];
+              for (int i = 0; i < count; i++) {
+                values[i] = firstValue + i;
+              }
+              return values;
+            });
+
+    Set<Long> values = ConcurrentHashMap.newKeySet();
+    try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 100; j++) {
+                    values.add(combiner.next(session));
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(values).hasSize(1_600);
+    assertThat(values).allMatch(value -> value >= 0 && value < 1_600);
+    assertThat(reservations).hasValueLessThan(1_600);
+  }
+
+  @Test
+  void next_throws_whenReservationFailed() {
+    StandardSequenceCombiner combiner =
+        new StandardSequenceCombiner(
+            (s, count) -> {
+              throw new IdentifierGenerationException("test");
+            });
+
+    assertThrows(IdentifierGenerationException.class, () -> combiner.next(session));
+  }
+}
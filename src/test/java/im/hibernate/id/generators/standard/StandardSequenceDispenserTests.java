@@ -0,0 +1,237 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceDispenser}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceDispenserTests {
+
+  private final SharedSessionContractImplementor session =
+      mock(SharedSessionContractImplementor.class);
+  private final SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+
+  @BeforeEach
+  void beforeEach() {
+    when(session.getFactory()).thenReturn(sessionFactory);
+  }
+
+  @Test
+  void next_ascendingValues_whenIncrementValueGreaterThanOne() {
+    AtomicInteger refills = new AtomicInteger();
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            5,
+            false,
+            s ->
+                refills.getAndIncrement() == 0
+                    ? new StandardSequenceBlock(10L, 20L)
+                    : new StandardSequenceBlock(25L, 25L));
+
+    assertThat(dispenser.next(session)).isEqualTo(10L);
+    assertThat(dispenser.next(session)).isEqualTo(15L);
+    assertThat(dispenser.next(session)).isEqualTo(20L);
+    assertThat(refills).hasValue(1);
+
+    assertThat(dispenser.next(session)).isEqualTo(25L);
+    assertThat(refills).hasValue(2);
+  }
+
+  @Test
+  void next_descendingValues_whenDescending() {
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(3, true, s -> new StandardSequenceBlock(20L, 14L));
+
+    assertThat(dispenser.next(session)).isEqualTo(20L);
+    assertThat(dispenser.next(session)).isEqualTo(17L);
+    assertThat(dispenser.next(session)).isEqualTo(14L);
+  }
+
+  @Test
+  void next_noOverflow_whenBlockEndsAtLongMaxValue() {
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            1, false, s -> new StandardSequenceBlock(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+
+    assertThat(dispenser.next(session)).isEqualTo(Long.MAX_VALUE - 1);
+    assertThat(dispenser.next(session)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void flush_drawNewBlock_afterFlush() {
+    AtomicInteger refills = new AtomicInteger();
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            1,
+            false,
+            s ->
+                refills.getAndIncrement() == 0
+                    ? new StandardSequenceBlock(1L, 10L)
+                    : new StandardSequenceBlock(11L, 20L));
+
+    assertThat(dispenser.remainingBlock()).isNull();
+    assertThat(dispenser.next(session)).isEqualTo(1L);
+    assertThat(dispenser.remainingBlock())
+        .usingRecursiveComparison()
+        .isEqualTo(new StandardSequenceBlock(2L, 10L));
+
+    dispenser.flush();
+
+    assertThat(dispenser.remainingBlock()).isNull();
+    assertThat(dispenser.next(session)).isEqualTo(11L);
+    assertThat(refills).hasValue(2);
+  }
+
+  @Test
+  void next_uniqueValues_whenDrawnConcurrently() throws Exception {
+    AtomicLong nextFirstValue = new AtomicLong();
+    AtomicInteger refills = new AtomicInteger();
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            1,
+            false,
+            s -> {
+              refills.incrementAndGet();
+              long firstValue = nextFirstValue.getAndAdd(100);
+              return new StandardSequenceBlock(firstValue, firstValue + 99);
+            });
+
+    Set<Long> values = ConcurrentHashMap.newKeySet();
+    try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 1000; j++) {
+                    values.add(dispenser.next(session));
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(values).hasSize(16_000);
+    assertThat(refills).hasValue(160);
+  }
+
+  @Test
+  void next_takePrefetchedBlock_whenPrefetchThresholdReached() {
+    AtomicInteger refills = new AtomicInteger();
+    AtomicInteger prefetches = new AtomicInteger();
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            1,
+            false,
+            0.5,
+            s -> {
+              refills.incrementAndGet();
+              return new StandardSequenceBlock(10L, 13L);
+            },
+            f -> {
+              assertThat(f).isSameAs(sessionFactory);
+              prefetches.incrementAndGet();
+              return new StandardSequenceBlock(14L, 17L);
+            });
+
+    for (long value = 10L; value <= 17L; value++) {
+      assertThat(dispenser.next(session)).isEqualTo(value);
+    }
+
+    assertThat(refills).hasValue(1);
+    assertThat(prefetches).hasValueGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  void next_refillSynchronously_whenPrefetchFailed() {
+    AtomicInteger refills = new AtomicInteger();
+    StandardSequenceDispenser dispenser =
+        new StandardSequenceDispenser(
+            1,
+            false,
+            0.5,
+            s ->
+                refills.getAndIncrement() == 0
+                    ? new StandardSequenceBlock(10L, 11L)
+                    : new StandardSequenceBlock(12L, 13L),
+            f -> {
+              throw new IdentifierGenerationException("test");
+            });
+
+    assertThat(dispenser.next(session)).isEqualTo(10L);
+    assertThat(dispenser.next(session)).isEqualTo(11L);
+    assertThat(dispenser.next(session)).isEqualTo(12L);
+    assertThat(refills).hasValue(2);
+  }
+
+  @Test
+  void nextAsync_shareOneRefill_whenRangeExhausted() {
+    AtomicInteger refills = new AtomicInteger();
+    CompletableFuture<StandardSequenceBlock> block = new CompletableFuture<>();
+    StandardSequenceDispenser dispenser = new StandardSequenceDispenser(1, false);
+    Supplier<CompletionStage<StandardSequenceBlock>> refill =
+        () -> {
+          refills.incrementAndGet();
+          return block;
+        };
+
+    CompletableFuture<Long> first = dispenser.nextAsync(refill).toCompletableFuture();
+    CompletableFuture<Long> second = dispenser.nextAsync(refill).toCompletableFuture();
+    assertThat(first).isNotDone();
+    assertThat(second).isNotDone();
+
+    block.complete(new StandardSequenceBlock(10L, 12L));
+
+    assertThat(Set.of(first.join(), second.join())).containsExactlyInAnyOrder(10L, 11L);
+    assertThat(dispenser.nextAsync(refill).toCompletableFuture()).isCompletedWithValue(12L);
+    assertThat(refills).hasValue(1);
+  }
+
+  @Test
+  void nextAsync_refillAgain_whenRefillFailed() {
+    AtomicInteger refills = new AtomicInteger();
+    StandardSequenceDispenser dispenser = new StandardSequenceDispenser(1, false);
+    Supplier<CompletionStage<StandardSequenceBlock>> refill =
+        () -> {
+          if (refills.getAndIncrement() == 0) {
+            throw new IdentifierGenerationException("test");
+          }
+          return CompletableFuture.completedFuture(new StandardSequenceBlock(10L, 10L));
+        };
+
+    assertThat(dispenser.nextAsync(refill).toCompletableFuture()).isCompletedExceptionally();
+    assertThat(dispenser.nextAsync(refill).toCompletableFuture()).isCompletedWithValue(10L);
+  }
+
+  @Test
+  void next_throwException_whenOnlyServedAsynchronously() {
+    StandardSequenceDispenser dispenser = new StandardSequenceDispenser(1, false);
+
+    assertThatThrownBy(() -> dispenser.next(session))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -2,17 +2,28 @@ package im.hibernate.id.generators.standard;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.hibernate.PessimisticLockException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.generator.EventType;
 import org.hibernate.generator.EventTypeSets;
 import org.hibernate.id.IdentifierGenerationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import im.hibernate.id.generators.LongSequenceQuery;
 
 /**
  * Tests for {@link StandardSequenceGenerator}.
@@ -24,11 +35,45 @@ class StandardSequenceGeneratorTests {
   private StandardSequence config;
   private StandardSequenceStrategy strategy;
   private StandardSequenceQuery query;
+  private StandardSequenceIsolationDelegate isolationDelegate;
 
   static class Local {
 
     @StandardSequence(name = "test")
     private long id;
+
+    @StandardSequence(name = "test-pooled", initialValue = 10L, maxValue = 20L, allocationSize = 3)
+    private long pooledId;
+
+    @StandardSequence(name = "test-isolated", isolated = true)
+    private long isolatedId;
+
+    @StandardSequence(
+        name = "test-single-statement",
+        updateMode = StandardSequenceUpdateMode.SINGLE_STATEMENT)
+    private long singleStatementId;
+
+    @StandardSequence(
+        name = "test_native",
+        allocationSize = 3,
+        backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    private long nativeId;
+
+    @StandardSequence(name = "test-striped", initialValue = 10L, maxValue = 20L, stripes = 2)
+    private long stripedId;
+
+    @StandardSequence(
+        name = "test-compare-and-set",
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET,
+        maxRetries = 1)
+    private long compareAndSetId;
+
+    @StandardSequence(
+        name = "test-isolated-compare-and-set",
+        isolated = true,
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET,
+        maxRetries = 1)
+    private long isolatedCompareAndSetId;
   }
 
   @BeforeEach
@@ -36,6 +81,14 @@ class StandardSequenceGeneratorTests {
     config = Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
     strategy = mock(StandardSequenceStrategy.class);
     query = mock(StandardSequenceQuery.class);
+    isolationDelegate = mock(StandardSequenceIsolationDelegate.class);
+
+    when(isolationDelegate.execute(any(), any()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<Function<SharedSessionContractImplementor, ?>>getArgument(1)
+                    .apply(invocation.getArgument(0)));
   }
 
   @Test
@@ -62,15 +115,17 @@ class StandardSequenceGeneratorTests {
     SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
     Object owner = new Object();
 
+    when(query.loadValue(any())).thenReturn(LongSequenceQuery.NO_VALUE);
     when(query.load(any())).thenReturn(null);
-    when(strategy.initialState()).thenReturn(new StandardSequenceState(10L));
+    when(query.insertIfAbsent(any(), any())).thenReturn(true);
+    when(strategy.initialValue()).thenReturn(10L);
 
     StandardSequenceGenerator generator = new StandardSequenceGenerator(config, strategy, query);
 
     assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(10L);
 
     verify(query, times(1)).load(any());
-    verify(strategy, times(1)).initialState();
+    verify(strategy, times(1)).initialValue();
   }
 
   @Test
@@ -78,14 +133,466 @@ class StandardSequenceGeneratorTests {
     SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
     Object owner = new Object();
 
-    when(query.load(any())).thenReturn(new StandardSequenceState(10L));
-    when(strategy.nextState(any())).thenReturn(new StandardSequenceState(11L));
+    when(query.loadValue(any())).thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
+
+    StandardSequenceGenerator generator = new StandardSequenceGenerator(config, strategy, query);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+
+    verify(query, times(1)).loadValue(any());
+    verify(query, never()).load(any());
+    verify(strategy, times(1)).nextValue(10L);
+    verify(query, times(1)).updateValue(any(), eq(11L));
+  }
+
+  @Test
+  void generate_nextState_whenInitializedConcurrently() {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    when(query.loadValue(any())).thenReturn(LongSequenceQuery.NO_VALUE);
+    when(query.load(any())).thenReturn(null).thenReturn(new StandardSequenceState(10L));
+    when(query.insertIfAbsent(any(), any())).thenReturn(false);
+    when(strategy.initialValue()).thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
 
     StandardSequenceGenerator generator = new StandardSequenceGenerator(config, strategy, query);
 
     assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
 
+    verify(query, times(2)).load(any());
+    verify(query, never()).insert(any(), any());
+    verify(query, times(1)).updateValue(any(), eq(11L));
+  }
+
+  @Test
+  void generate_throws_whenStateMissingAfterInitialization() {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    when(query.loadValue(any())).thenReturn(LongSequenceQuery.NO_VALUE);
+    when(query.load(any())).thenReturn(null);
+    when(query.insertIfAbsent(any(), any())).thenReturn(false);
+    when(strategy.initialValue()).thenReturn(10L);
+
+    StandardSequenceGenerator generator = new StandardSequenceGenerator(config, strategy, query);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> generator.generate(session, owner, null, EventType.INSERT));
+  }
+
+  @Test
+  void generate_isolatedNextState_whenIsolated() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence isolatedConfig =
+        Local.class.getDeclaredField("isolatedId").getAnnotation(StandardSequence.class);
+    when(query.loadValue(any())).thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(isolatedConfig, strategy, query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+
+    verify(isolationDelegate, times(1)).execute(any(), any());
+    verify(query, times(1)).updateValue(any(), eq(11L));
+  }
+
+  @Test
+  void generate_retryIsolatedTransaction_whenLockTimedOut() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence isolatedConfig =
+        Local.class.getDeclaredField("isolatedId").getAnnotation(StandardSequence.class);
+    when(query.loadValue(any()))
+        .thenThrow(
+            new PessimisticLockException("test", new SQLException("test", "HYT00"), "SELECT 1"))
+        .thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(isolatedConfig, strategy, query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+
+    verify(isolationDelegate, times(2)).execute(any(), any());
+    verify(query, times(1)).updateValue(any(), eq(11L));
+  }
+
+  @Test
+  void generate_incrementedState_whenSingleStatementSupported() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence singleStatementConfig =
+        Local.class.getDeclaredField("singleStatementId").getAnnotation(StandardSequence.class);
+    when(query.supportsIncrement(any())).thenReturn(true);
+    when(query.increment(any(), any())).thenReturn(new StandardSequenceState(11L));
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(singleStatementConfig, strategy, query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+
+    verify(query, never()).loadValue(any());
+    verify(query, never()).updateValue(any(), anyLong());
+  }
+
+  @Test
+  void generate_initialState_whenSingleStatementIncrementedNothing() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence singleStatementConfig =
+        Local.class.getDeclaredField("singleStatementId").getAnnotation(StandardSequence.class);
+    when(query.supportsIncrement(any())).thenReturn(true);
+    when(query.increment(any(), any())).thenReturn(null);
+    when(query.loadValue(any())).thenReturn(LongSequenceQuery.NO_VALUE);
+    when(query.load(any())).thenReturn(null);
+    when(query.insertIfAbsent(any(), any())).thenReturn(true);
+    when(strategy.initialValue()).thenReturn(0L);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(singleStatementConfig, strategy, query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(0L);
+
+    verify(query, times(1)).load(any());
+    verify(query, times(1)).insertIfAbsent(any(), any());
+  }
+
+  @Test
+  void generate_pooledValues_whenAllocationSizeGreaterThanOne() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence pooledConfig =
+        Local.class.getDeclaredField("pooledId").getAnnotation(StandardSequence.class);
+    when(query.load(any())).thenReturn(null);
+    when(query.insertIfAbsent(any(), any())).thenReturn(true);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            pooledConfig, new StandardSequenceStrategy(pooledConfig), query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(10L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(12L);
+
+    verify(isolationDelegate, times(1)).execute(any(), any());
+    verify(query, times(1)).load(any());
+    verify(query, times(1)).insertIfAbsent(any(), any());
+    verify(query, never()).updateBlock(any(), any());
+  }
+
+  @Test
+  void generate_sharePooledValues_whenSameSequenceRegistered() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence pooledConfig =
+        Local.class.getDeclaredField("pooledId").getAnnotation(StandardSequence.class);
+    when(query.load(any())).thenReturn(null);
+    when(query.insertIfAbsent(any(), any())).thenReturn(true);
+
+    StandardSequenceRegistry registry = new StandardSequenceRegistry();
+    StandardSequenceGenerator generator1 =
+        new StandardSequenceGenerator(
+            pooledConfig,
+            new StandardSequenceStrategy(pooledConfig),
+            query,
+            new StandardSequenceNativeQuery(pooledConfig.name()),
+            isolationDelegate,
+            registry);
+    StandardSequenceGenerator generator2 =
+        new StandardSequenceGenerator(
+            pooledConfig,
+            new StandardSequenceStrategy(pooledConfig),
+            query,
+            new StandardSequenceNativeQuery(pooledConfig.name()),
+            isolationDelegate,
+            registry);
+
+    assertThat(generator1.generate(session, owner, null, EventType.INSERT)).isEqualTo(10L);
+    assertThat(generator2.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+    assertThat(generator1.generate(session, owner, null, EventType.INSERT)).isEqualTo(12L);
+
+    verify(isolationDelegate, times(1)).execute(any(), any());
+  }
+
+  @Test
+  void generate_recordHandedOutValues() {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    StandardSequenceRecorder recorder = mock(StandardSequenceRecorder.class);
+    when(query.loadValue(any())).thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
+    when(strategy.values(any(), eq(3))).thenReturn(new long[] {12L, 13L, 14L});
+    when(query.load(any())).thenReturn(new StandardSequenceState(11L));
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            config,
+            strategy,
+            query,
+            new StandardSequenceNativeQuery(config.name()),
+            isolationDelegate,
+            new StandardSequenceRegistry(),
+            recorder);
+
+    assertThat(generator.generate(session, null, null, EventType.INSERT)).isEqualTo(11L);
+    assertThat(generator.reserve(session, 3)).containsExactly(12L, 13L, 14L);
+    verify(recorder).handedOut(1);
+    verify(recorder).handedOut(3);
+  }
+
+  @Test
+  void generate_recordRefillStatistics_whenCollectingStatistics() {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    AtomicLong nanoClock = new AtomicLong();
+    StandardSequenceStatistics statistics =
+        new StandardSequenceStatistics(
+            config,
+            StandardSequenceRecorder.NOOP,
+            () -> nanoClock.addAndGet(Duration.ofMillis(3).toNanos()));
+    when(query.loadValue(any())).thenReturn(10L);
+    when(strategy.nextValue(10L)).thenReturn(11L);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            config,
+            strategy,
+            query,
+            new StandardSequenceNativeQuery(config.name()),
+            isolationDelegate,
+            new StandardSequenceRegistry(),
+            statistics);
+
+    assertThat(generator.generate(session, null, null, EventType.INSERT)).isEqualTo(11L);
+    assertThat(generator.generate(session, null, null, EventType.INSERT)).isEqualTo(11L);
+    assertThat(statistics.refills()).isEqualTo(2);
+    assertThat(statistics.handedOut()).isEqualTo(2);
+    // each allocation took 3ms, between the 2ms and 5ms bounds
+    assertThat(statistics.latencies()).containsExactly(0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0);
+    assertThat(generator.management().getRefills()).isEqualTo(2);
+  }
+
+  @Test
+  void generate_reserveNextBlock_whenPooledValuesExhausted() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence pooledConfig =
+        Local.class.getDeclaredField("pooledId").getAnnotation(StandardSequence.class);
+    when(query.load(any()))
+        .thenReturn(new StandardSequenceState(12L))
+        .thenReturn(new StandardSequenceState(18L));
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            pooledConfig, new StandardSequenceStrategy(pooledConfig), query, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(13L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(14L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(15L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(19L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(20L);
+
+    verify(isolationDelegate, times(2)).execute(any(), any());
+    verify(query, times(2)).updateBlock(any(), any());
+  }
+
+  @Test
+  void generate_nativeSequenceValue_whenNativeSequenceBackend() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence nativeConfig =
+        Local.class.getDeclaredField("nativeId").getAnnotation(StandardSequence.class);
+    StandardSequenceNativeQuery nativeQuery = mock(StandardSequenceNativeQuery.class);
+    when(nativeQuery.nextValue(any())).thenReturn(10L).thenReturn(11L);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            nativeConfig, strategy, query, nativeQuery, isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(10L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(11L);
+
+    verify(nativeQuery, times(2)).nextValue(session);
+    verify(isolationDelegate, never()).execute(any(), any());
+    verify(query, never()).load(any());
+  }
+
+  @Test
+  void generate_retryConflictingUpdate_whenCompareAndSet() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence compareAndSetConfig =
+        Local.class.getDeclaredField("compareAndSetId").getAnnotation(StandardSequence.class);
+    when(query.readValue(any())).thenReturn(10L);
+    when(query.loadValue(any())).thenReturn(12L);
+    when(query.compareAndSetValue(any(), eq(10L), eq(11L), eq(false))).thenReturn(false);
+    when(query.compareAndSetValue(any(), eq(12L), eq(13L), eq(false))).thenReturn(true);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            compareAndSetConfig,
+            new StandardSequenceStrategy(compareAndSetConfig),
+            query,
+            isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(13L);
+
+    // the retry re-reads the row with a locking read, as the snapshot may not have changed
+    verify(query, times(1)).readValue(any());
+    verify(query, times(1)).loadValue(any());
+    verify(query, never()).updateValue(any(), anyLong());
+    verify(isolationDelegate, never()).execute(any(), any());
+  }
+
+  @Test
+  void generate_retryConflictingUpdateInNewTransaction_whenIsolatedCompareAndSet()
+      throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence compareAndSetConfig =
+        Local.class
+            .getDeclaredField("isolatedCompareAndSetId")
+            .getAnnotation(StandardSequence.class);
+    when(query.readValue(any())).thenReturn(10L).thenReturn(12L);
+    when(query.compareAndSetValue(any(), eq(10L), eq(11L), eq(false))).thenReturn(false);
+    when(query.compareAndSetValue(any(), eq(12L), eq(13L), eq(false))).thenReturn(true);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            compareAndSetConfig,
+            new StandardSequenceStrategy(compareAndSetConfig),
+            query,
+            isolationDelegate);
+
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(13L);
+
+    verify(isolationDelegate, times(2)).execute(any(), any());
+    verify(query, times(2)).readValue(any());
+    verify(query, never()).loadValue(any());
+  }
+
+  @Test
+  void generate_throws_whenIsolatedCompareAndSetRetriesExhausted() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence compareAndSetConfig =
+        Local.class
+            .getDeclaredField("isolatedCompareAndSetId")
+            .getAnnotation(StandardSequence.class);
+    when(query.readValue(any())).thenReturn(10L);
+    when(query.compareAndSetValue(any(), anyLong(), anyLong(), anyBoolean())).thenReturn(false);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            compareAndSetConfig,
+            new StandardSequenceStrategy(compareAndSetConfig),
+            query,
+            isolationDelegate);
+
+    IdentifierGenerationException e =
+        assertThrowsExactly(
+            IdentifierGenerationException.class,
+            () -> generator.generate(session, owner, null, EventType.INSERT));
+    assertThat(e.getMessage()).contains("after 1 retries of conflicting updates");
+    verify(isolationDelegate, times(2)).execute(any(), any());
+  }
+
+  @Test
+  void generate_throws_whenCompareAndSetRetriesExhausted() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence compareAndSetConfig =
+        Local.class.getDeclaredField("compareAndSetId").getAnnotation(StandardSequence.class);
+    when(query.readValue(any())).thenReturn(10L);
+    when(query.loadValue(any())).thenReturn(10L);
+    when(query.compareAndSetValue(any(), anyLong(), anyLong(), anyBoolean())).thenReturn(false);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            compareAndSetConfig,
+            new StandardSequenceStrategy(compareAndSetConfig),
+            query,
+            isolationDelegate);
+
+    assertThrows(
+        IdentifierGenerationException.class,
+        () -> generator.generate(session, owner, null, EventType.INSERT));
+    verify(query, times(2)).compareAndSetValue(any(), eq(10L), eq(11L), eq(false));
+  }
+
+  @Test
+  void generate_stripeValues_whenStriped() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+    Object owner = new Object();
+
+    StandardSequence stripedConfig =
+        Local.class.getDeclaredField("stripedId").getAnnotation(StandardSequence.class);
+    StandardSequenceQuery stripeQuery = mock(StandardSequenceQuery.class);
+    when(query.withName(any())).thenReturn(stripeQuery);
+    when(stripeQuery.loadValue(any())).thenReturn(LongSequenceQuery.NO_VALUE).thenReturn(11L);
+    when(stripeQuery.insertIfAbsent(any(), any())).thenReturn(true);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            stripedConfig, new StandardSequenceStrategy(stripedConfig), query, isolationDelegate);
+
+    long firstValue = (long) generator.generate(session, owner, null, EventType.INSERT);
+    assertThat(firstValue).isIn(10L, 11L);
+    assertThat(generator.generate(session, owner, null, EventType.INSERT)).isEqualTo(13L);
+
+    verify(query).withName("test-striped#0");
+    verify(query).withName("test-striped#1");
+    verify(query, never()).loadValue(any());
+    verify(stripeQuery, times(1)).updateValue(any(), eq(13L));
+  }
+
+  @Test
+  void reserve_consecutiveValues_whenLoadReturnState() throws NoSuchFieldException {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+
+    StandardSequence pooledConfig =
+        Local.class.getDeclaredField("pooledId").getAnnotation(StandardSequence.class);
+    when(query.load(any())).thenReturn(new StandardSequenceState(12L));
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(
+            pooledConfig, new StandardSequenceStrategy(pooledConfig), query, isolationDelegate);
+
+    assertThat(generator.reserve(session, 4)).containsExactly(13L, 14L, 15L, 16L);
+
+    verify(isolationDelegate, times(1)).execute(any(), any());
     verify(query, times(1)).load(any());
-    verify(strategy, times(1)).nextState(any());
+    verify(query, times(1)).updateBlock(any(), any());
+  }
+
+  @Test
+  void reserve_initialValues_whenLoadReturnNull() {
+    SharedSessionContractImplementor session = mock(SharedSessionContractImplementor.class);
+
+    when(query.load(any())).thenReturn(null);
+    when(query.insertIfAbsent(any(), any())).thenReturn(true);
+
+    StandardSequenceGenerator generator =
+        new StandardSequenceGenerator(config, new StandardSequenceStrategy(config), query);
+
+    assertThat(generator.reserve(session, 3)).containsExactly(0L, 1L, 2L);
+
+    verify(query, times(1)).insertIfAbsent(any(), any());
+    verify(query, never()).updateBlock(any(), any());
   }
 }
@@ -2,15 +2,32 @@ package im.hibernate.id.generators.standard;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
 import org.hibernate.id.IdentifierGenerationException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import im.hibernate.id.generators.support.StandardSequenceMicrometerMetrics;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.Getter;
@@ -25,6 +42,7 @@ import lombok.Setter;
 class StandardSequenceIntegrationTests {
 
   private static SessionFactory sessionFactory;
+  private static final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   @BeforeAll
   static void beforeAll() {
@@ -35,6 +53,9 @@ class StandardSequenceIntegrationTests {
                 "hibernate.connection.url", "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000")
             .applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
             .applySetting("hibernate.hbm2ddl.auto", "create")
+            .addService(
+                StandardSequenceMetrics.class,
+                new StandardSequenceMicrometerMetrics(meterRegistry))
             .build();
 
     sessionFactory =
@@ -43,7 +64,28 @@ class StandardSequenceIntegrationTests {
                 TestAscendingNonCyclingEntity.class,
                 TestAscendingCyclingEntity.class,
                 TestDescendingNonCyclingEntity.class,
-                TestDescendingCyclingEntity.class)
+                TestDescendingCyclingEntity.class,
+                TestPooledAscendingEntity.class,
+                TestPooledDescendingCyclingEntity.class,
+                TestIsolatedEntity.class,
+                TestPrefetchEntity.class,
+                TestSingleStatementAscendingCyclingEntity.class,
+                TestSingleStatementDescendingNonCyclingEntity.class,
+                TestNativeAscendingCyclingEntity.class,
+                TestStripedEntity.class,
+                TestReserveEntity.class,
+                TestCoordinatedAscendingEntity.class,
+                TestCoordinatedDescendingEntity.class,
+                TestCoordinatedClientTimestampsEntity.class,
+                TestCoordinatedNoTimestampsEntity.class,
+                TestSharedFirstEntity.class,
+                TestSharedSecondEntity.class,
+                TestCompareAndSetEntity.class,
+                TestPooledCompareAndSetEntity.class,
+                TestNoTimestampsEntity.class,
+                TestDatabaseTimestampsEntity.class,
+                TestMeteredEntity.class,
+                TestRecordedEntity.class)
             .buildMetadata()
             .buildSessionFactory();
 
@@ -239,4 +281,970 @@ class StandardSequenceIntegrationTests {
       session.getTransaction().commit();
     }
   }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestPooledAscendingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-pooled-ascending",
+        initialValue = 10L,
+        maxValue = 100L,
+        incrementValue = 5,
+        allocationSize = 3)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenPooled_Ascending() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestPooledAscendingEntity entity1 = new TestPooledAscendingEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(10L);
+      assertThat(currentValue(session, "test-pooled-ascending")).isEqualTo(20L);
+
+      TestPooledAscendingEntity entity2 = new TestPooledAscendingEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(15L);
+
+      TestPooledAscendingEntity entity3 = new TestPooledAscendingEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(20L);
+      assertThat(currentValue(session, "test-pooled-ascending")).isEqualTo(20L);
+
+      TestPooledAscendingEntity entity4 = new TestPooledAscendingEntity();
+      session.persist(entity4);
+      assertThat(entity4.getId()).isEqualTo(25L);
+      assertThat(currentValue(session, "test-pooled-ascending")).isEqualTo(35L);
+
+      session.getTransaction().rollback();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestPooledAscendingEntity entity5 = new TestPooledAscendingEntity();
+      session.persist(entity5);
+      assertThat(entity5.getId()).isEqualTo(30L);
+      assertThat(currentValue(session, "test-pooled-ascending")).isEqualTo(35L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestPooledDescendingCyclingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-pooled-descending-cycling",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        descending = true,
+        cycle = true,
+        allocationSize = 2)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenPooled_Descending_Cycling() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestPooledDescendingCyclingEntity entity1 = new TestPooledDescendingCyclingEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(20L);
+
+      TestPooledDescendingCyclingEntity entity2 = new TestPooledDescendingCyclingEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(15L);
+
+      TestPooledDescendingCyclingEntity entity3 = new TestPooledDescendingCyclingEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(10L);
+      assertThat(currentValue(session, "test-pooled-descending-cycling")).isEqualTo(10L);
+
+      session.remove(entity1);
+
+      TestPooledDescendingCyclingEntity entity4 = new TestPooledDescendingCyclingEntity();
+      session.persist(entity4);
+      assertThat(entity4.getId()).isEqualTo(20L);
+      assertThat(currentValue(session, "test-pooled-descending-cycling")).isEqualTo(15L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestIsolatedEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-isolated",
+        initialValue = 10L,
+        isolated = true)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenIsolated_concurrentTransactionsNotBlocked() {
+    try (Session session1 = sessionFactory.openSession();
+        Session session2 = sessionFactory.openSession()) {
+      session1.beginTransaction();
+      session2.beginTransaction();
+
+      TestIsolatedEntity entity1 = new TestIsolatedEntity();
+      session1.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(10L);
+
+      TestIsolatedEntity entity2 = new TestIsolatedEntity();
+      session2.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(11L);
+
+      session1.getTransaction().rollback();
+      session2.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestIsolatedEntity entity3 = new TestIsolatedEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(12L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestPrefetchEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-prefetch",
+        initialValue = 10L,
+        allocationSize = 2,
+        prefetchThreshold = 0.5)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenPrefetch() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (long expectedId = 10L; expectedId < 16L; expectedId++) {
+        TestPrefetchEntity entity = new TestPrefetchEntity();
+        session.persist(entity);
+        assertThat(entity.getId()).isEqualTo(expectedId);
+      }
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestSingleStatementAscendingCyclingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-single-statement-ascending-cycling",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true,
+        updateMode = StandardSequenceUpdateMode.SINGLE_STATEMENT)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenSingleStatement_Ascending_Cycling() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestSingleStatementAscendingCyclingEntity entity1 =
+          new TestSingleStatementAscendingCyclingEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(10L);
+
+      TestSingleStatementAscendingCyclingEntity entity2 =
+          new TestSingleStatementAscendingCyclingEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(15L);
+
+      TestSingleStatementAscendingCyclingEntity entity3 =
+          new TestSingleStatementAscendingCyclingEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(20L);
+
+      session.remove(entity1);
+
+      TestSingleStatementAscendingCyclingEntity entity4 =
+          new TestSingleStatementAscendingCyclingEntity();
+      session.persist(entity4);
+      assertThat(entity4.getId()).isEqualTo(10L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestSingleStatementDescendingNonCyclingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-single-statement-descending-non-cycling",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        descending = true,
+        updateMode = StandardSequenceUpdateMode.SINGLE_STATEMENT)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenSingleStatement_Descending_NonCycling() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestSingleStatementDescendingNonCyclingEntity entity1 =
+          new TestSingleStatementDescendingNonCyclingEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(20L);
+
+      TestSingleStatementDescendingNonCyclingEntity entity2 =
+          new TestSingleStatementDescendingNonCyclingEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(15L);
+
+      TestSingleStatementDescendingNonCyclingEntity entity3 =
+          new TestSingleStatementDescendingNonCyclingEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(10L);
+
+      TestSingleStatementDescendingNonCyclingEntity entity4 =
+          new TestSingleStatementDescendingNonCyclingEntity();
+      assertThrows(IdentifierGenerationException.class, () -> session.persist(entity4));
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestNativeAscendingCyclingEntity {
+    @Id
+    @StandardSequence(
+        name = "test_native_ascending_cycling",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true,
+        backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenNativeSequence_Ascending_Cycling() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestNativeAscendingCyclingEntity entity1 = new TestNativeAscendingCyclingEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(10L);
+
+      TestNativeAscendingCyclingEntity entity2 = new TestNativeAscendingCyclingEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(15L);
+
+      TestNativeAscendingCyclingEntity entity3 = new TestNativeAscendingCyclingEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(20L);
+
+      session.remove(entity1);
+
+      TestNativeAscendingCyclingEntity entity4 = new TestNativeAscendingCyclingEntity();
+      session.persist(entity4);
+      assertThat(entity4.getId()).isEqualTo(10L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestStripedEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-striped",
+        initialValue = 0L,
+        maxValue = 100L,
+        stripes = 2)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenStriped_stripeValuesFromOneRow() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestStripedEntity entity1 = new TestStripedEntity();
+      session.persist(entity1);
+      long stripe = entity1.getId();
+      assertThat(stripe).isIn(0L, 1L);
+
+      TestStripedEntity entity2 = new TestStripedEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(stripe + 2);
+
+      TestStripedEntity entity3 = new TestStripedEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(stripe + 4);
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      long stripe = currentValue(session, "test-striped#0") != null ? 0L : 1L;
+      assertThat(currentValue(session, "test-striped#" + stripe)).isEqualTo(stripe + 4);
+      assertThat(currentValue(session, "test-striped")).isNull();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestReserveEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-reserve",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true)
+    private Long id;
+  }
+
+  @Test
+  void reserve_whenAscending_Cycling() {
+    StandardSequenceGenerator generator =
+        (StandardSequenceGenerator)
+            sessionFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(TestReserveEntity.class)
+                .getGenerator();
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      assertThat(generator.reserve((SharedSessionContractImplementor) session, 2))
+          .containsExactly(10L, 15L);
+      assertThat(generator.reserve((SharedSessionContractImplementor) session, 3))
+          .containsExactly(20L, 10L, 15L);
+      assertThat(currentValue(session, "test-reserve")).isEqualTo(15L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestCoordinatedAscendingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-coordinated-ascending",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true)
+    private Long id;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestCoordinatedDescendingEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-coordinated-descending",
+        initialValue = 1L,
+        maxValue = 100L,
+        incrementValue = 10,
+        descending = true)
+    private Long id;
+  }
+
+  @Test
+  void coordinatorReserve_whenSequencesShareTable() {
+    StandardSequenceGenerator ascending = generator(TestCoordinatedAscendingEntity.class);
+    StandardSequenceGenerator descending = generator(TestCoordinatedDescendingEntity.class);
+    StandardSequenceCoordinator coordinator = new StandardSequenceCoordinator();
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      Map<StandardSequenceGenerator, Integer> counts = new LinkedHashMap<>();
+      counts.put(ascending, 2);
+      counts.put(descending, 3);
+
+      Map<StandardSequenceGenerator, long[]> values =
+          coordinator.reserve((SharedSessionContractImplementor) session, counts);
+      assertThat(values.get(ascending)).containsExactly(10L, 15L);
+      assertThat(values.get(descending)).containsExactly(100L, 90L, 80L);
+
+      values = coordinator.reserve((SharedSessionContractImplementor) session, counts);
+      assertThat(values.get(ascending)).containsExactly(20L, 10L);
+      assertThat(values.get(descending)).containsExactly(70L, 60L, 50L);
+
+      assertThat(currentValue(session, "test-coordinated-ascending")).isEqualTo(10L);
+      assertThat(currentValue(session, "test-coordinated-descending")).isEqualTo(50L);
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestCoordinatedClientTimestampsEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-coordinated-client-timestamps")
+    private Long id;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestCoordinatedNoTimestampsEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-coordinated-no-timestamps",
+        timestamps = StandardSequenceTimestampMode.NONE)
+    private Long id;
+  }
+
+  @Test
+  void coordinatorReserve_whenTimestampModesDiffer_eachRowWrittenByItsMode() {
+    StandardSequenceGenerator client = generator(TestCoordinatedClientTimestampsEntity.class);
+    StandardSequenceGenerator noTimestamps = generator(TestCoordinatedNoTimestampsEntity.class);
+    StandardSequenceCoordinator coordinator = new StandardSequenceCoordinator();
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      Map<StandardSequenceGenerator, Integer> counts = new LinkedHashMap<>();
+      counts.put(client, 1);
+      counts.put(noTimestamps, 2);
+
+      coordinator.reserve((SharedSessionContractImplementor) session, counts);
+      Map<StandardSequenceGenerator, long[]> values =
+          coordinator.reserve((SharedSessionContractImplementor) session, counts);
+      assertThat(values.get(noTimestamps)).containsExactly(2L, 3L);
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      assertThat(lastModifiedAt(session, "test-coordinated-client-timestamps")).isNotNull();
+      assertThat(currentValue(session, "test-coordinated-no-timestamps")).isEqualTo(3L);
+      assertThat(lastModifiedAt(session, "test-coordinated-no-timestamps")).isNull();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestSharedFirstEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-shared",
+        allocationSize = 10)
+    private Long id;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestSharedSecondEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-shared",
+        allocationSize = 10)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenEntitiesShareSequence_shareOneBlock() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      TestSharedFirstEntity entity1 = new TestSharedFirstEntity();
+      session.persist(entity1);
+      assertThat(entity1.getId()).isEqualTo(0L);
+
+      TestSharedSecondEntity entity2 = new TestSharedSecondEntity();
+      session.persist(entity2);
+      assertThat(entity2.getId()).isEqualTo(1L);
+
+      TestSharedFirstEntity entity3 = new TestSharedFirstEntity();
+      session.persist(entity3);
+      assertThat(entity3.getId()).isEqualTo(2L);
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      assertThat(currentValue(session, "test-shared")).isEqualTo(9L);
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestCompareAndSetEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-compare-and-set",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true,
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenCompareAndSet_Cycling() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (long expected : new long[] {10L, 15L, 20L, 10L}) {
+        TestCompareAndSetEntity entity = new TestCompareAndSetEntity();
+        session.persist(entity);
+        assertThat(entity.getId()).isEqualTo(expected);
+      }
+
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestPooledCompareAndSetEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-pooled-compare-and-set",
+        allocationSize = 3,
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenPooledCompareAndSet() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (long expected = 0L; expected < 4L; expected++) {
+        TestPooledCompareAndSetEntity entity = new TestPooledCompareAndSetEntity();
+        session.persist(entity);
+        assertThat(entity.getId()).isEqualTo(expected);
+      }
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      assertThat(currentValue(session, "test-pooled-compare-and-set")).isEqualTo(5L);
+    }
+  }
+
+  static class RepeatableReadLocal {
+
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-repeatable-read",
+        isolated = true,
+        updateMode = StandardSequenceUpdateMode.COMPARE_AND_SET)
+    private long id;
+  }
+
+  @Test
+  void generate_retryConflictInNewTransaction_whenCompareAndSetUnderRepeatableRead()
+      throws NoSuchFieldException {
+    StandardSequence config =
+        RepeatableReadLocal.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+
+    try (SessionFactory repeatableRead = buildRepeatableReadSessionFactory()) {
+      execute(
+          repeatableRead,
+          "INSERT INTO standard_sequence_integration_tests(name, current_value, created_at)"
+              + " VALUES('test-repeatable-read', 0, CURRENT_TIMESTAMP)");
+
+      AtomicBoolean concurrentUpdate = new AtomicBoolean(true);
+      StandardSequenceQuery query =
+          new StandardSequenceQuery(
+              "standard_sequence_integration_tests",
+              "name",
+              "current_value",
+              "created_at",
+              "last_modified_at",
+              config.name()) {
+            @Override
+            public long readValue(SharedSessionContractImplementor session) {
+              long currentValue = super.readValue(session);
+              // a concurrent allocation commits once this transaction has taken its snapshot
+              if (concurrentUpdate.getAndSet(false)) {
+                execute(
+                    repeatableRead,
+                    "UPDATE standard_sequence_integration_tests"
+                        + " SET current_value = current_value + 1"
+                        + " WHERE name = 'test-repeatable-read'");
+              }
+              return currentValue;
+            }
+          };
+      StandardSequenceGenerator generator =
+          new StandardSequenceGenerator(config, new StandardSequenceStrategy(config), query);
+
+      try (Session session = repeatableRead.openSession()) {
+        session.beginTransaction();
+
+        // the snapshot of the first attempt never sees 1, the retry reads it in a new transaction
+        assertThat(
+                generator.generate(
+                    (SharedSessionContractImplementor) session,
+                    new Object(),
+                    null,
+                    EventType.INSERT))
+            .isEqualTo(2L);
+
+        session.getTransaction().commit();
+      }
+
+      try (Session session = repeatableRead.openSession()) {
+        assertThat(currentValue(session, "test-repeatable-read")).isEqualTo(2L);
+      }
+      assertThat(concurrentUpdate).isFalse();
+    }
+  }
+
+  private static SessionFactory buildRepeatableReadSessionFactory() {
+    StandardServiceRegistry serviceRegistry =
+        new StandardServiceRegistryBuilder()
+            .applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+            .applySetting(
+                "hibernate.connection.url",
+                "jdbc:h2:mem:repeatable-read;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000")
+            .applySetting(
+                "hibernate.connection.isolation",
+                String.valueOf(Connection.TRANSACTION_REPEATABLE_READ))
+            .applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+            .build();
+
+    SessionFactory repeatableRead =
+        new MetadataSources(serviceRegistry).buildMetadata().buildSessionFactory();
+    execute(
+        repeatableRead,
+        "CREATE TABLE standard_sequence_integration_tests ("
+            + "name VARCHAR(100) PRIMARY KEY,"
+            + "current_value BIGINT NOT NULL,"
+            + "created_at TIMESTAMP NOT NULL,"
+            + "last_modified_at TIMESTAMP"
+            + ")");
+    return repeatableRead;
+  }
+
+  private static void execute(SessionFactory sessionFactory, String sql) {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      session.createNativeMutationQuery(sql).executeUpdate();
+      session.getTransaction().commit();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestNoTimestampsEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-no-timestamps",
+        timestamps = StandardSequenceTimestampMode.NONE)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenTimestampModeNone_lastModifiedAtNotWritten() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (long expected = 0L; expected < 3L; expected++) {
+        TestNoTimestampsEntity entity = new TestNoTimestampsEntity();
+        session.persist(entity);
+        assertThat(entity.getId()).isEqualTo(expected);
+      }
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      assertThat(currentValue(session, "test-no-timestamps")).isEqualTo(2L);
+      assertThat(lastModifiedAt(session, "test-no-timestamps")).isNull();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestDatabaseTimestampsEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-database-timestamps",
+        timestamps = StandardSequenceTimestampMode.DATABASE)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenTimestampModeDatabase_lastModifiedAtWritten() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (long expected = 0L; expected < 2L; expected++) {
+        TestDatabaseTimestampsEntity entity = new TestDatabaseTimestampsEntity();
+        session.persist(entity);
+        assertThat(entity.getId()).isEqualTo(expected);
+      }
+
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      assertThat(lastModifiedAt(session, "test-database-timestamps")).isNotNull();
+    }
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestMeteredEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-metered",
+        maxValue = 100L)
+    private Long id;
+  }
+
+  @Test
+  void persist_whenMetricsAdded_metersRecorded() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+
+      for (int i = 0; i < 3; i++) {
+        session.persist(new TestMeteredEntity());
+      }
+
+      session.getTransaction().commit();
+    }
+
+    // first value initializes the row, the others load and update it
+    assertThat(meter(StandardSequenceMicrometerMetrics.VALUES).counter().count()).isEqualTo(3);
+    assertThat(meter(StandardSequenceMicrometerMetrics.ROUND_TRIPS).counter().count())
+        .isGreaterThanOrEqualTo(5);
+    assertThat(
+            meter(StandardSequenceMicrometerMetrics.OPERATIONS)
+                .tag("operation", "update")
+                .timer()
+                .count())
+        .isEqualTo(2);
+    assertThat(meter(StandardSequenceMicrometerMetrics.REMAINING).gauge().value()).isEqualTo(98);
+    assertThat(meter(StandardSequenceMicrometerMetrics.WRAPS).counter().count()).isZero();
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestRecordedEntity {
+    @Id
+    @StandardSequence(
+        sequenceTable = "standard_sequence_integration_tests",
+        name = "test-recorded",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true)
+    private Long id;
+  }
+
+  @Test
+  void reserve_whenFlightRecording_allocationEventsRecorded(@TempDir Path dir) throws Exception {
+    StandardSequenceGenerator generator = generator(TestRecordedEntity.class);
+
+    try (Recording recording = new Recording()) {
+      recording.enable(StandardSequenceAllocationEvent.NAME);
+      recording.start();
+
+      try (Session session = sessionFactory.openSession()) {
+        session.beginTransaction();
+
+        generator.reserve((SharedSessionContractImplementor) session, 2);
+        generator.reserve((SharedSessionContractImplementor) session, 3);
+
+        session.getTransaction().commit();
+      }
+
+      recording.stop();
+      recording.dump(dir.resolve("recording.jfr"));
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(dir.resolve("recording.jfr")).stream()
+            .filter(event -> "test-recorded".equals(event.getString("sequenceName")))
+            .toList();
+    assertThat(events).hasSize(2);
+
+    // first reservation initializes the row, the second locks, updates and cycles it
+    assertThat(events.get(0).getString("tableName"))
+        .isEqualTo("standard_sequence_integration_tests");
+    assertThat(events.get(0).getLong("reserved")).isEqualTo(2);
+    assertThat(events.get(0).getBoolean("wrapped")).isFalse();
+    assertThat(events.get(1).getLong("reserved")).isEqualTo(3);
+    assertThat(events.get(1).getDuration("lockWait")).isPositive();
+    assertThat(events.get(1).getDuration("execution")).isPositive();
+    assertThat(events.get(1).getBoolean("wrapped")).isTrue();
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestMismatchedFirstEntity {
+    @Id
+    @StandardSequence(name = "test-mismatched", incrementValue = 1)
+    private Long id;
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestMismatchedSecondEntity {
+    @Id
+    @StandardSequence(name = "test-mismatched", incrementValue = 2)
+    private Long id;
+  }
+
+  @Test
+  void buildSessionFactory_throws_whenSequenceConfigsMismatch() {
+    StandardServiceRegistry serviceRegistry =
+        new StandardServiceRegistryBuilder()
+            .applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+            .applySetting("hibernate.connection.url", "jdbc:h2:mem:mismatch;DB_CLOSE_DELAY=-1")
+            .applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+            .build();
+
+    try {
+      RuntimeException e =
+          assertThrows(
+              RuntimeException.class,
+              () ->
+                  new MetadataSources(serviceRegistry)
+                      .addAnnotatedClasses(
+                          TestMismatchedFirstEntity.class, TestMismatchedSecondEntity.class)
+                      .buildMetadata()
+                      .buildSessionFactory());
+      assertThat(ExceptionUtils.getThrowableList(e))
+          .hasAtLeastOneElementOfType(IdentifierGenerationException.class);
+    } finally {
+      StandardServiceRegistryBuilder.destroy(serviceRegistry);
+    }
+  }
+
+  private static StandardSequenceGenerator generator(Class<?> entityClass) {
+    return (StandardSequenceGenerator)
+        sessionFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(entityClass)
+            .getGenerator();
+  }
+
+  private static RequiredSearch meter(String name) {
+    return meterRegistry
+        .get(name)
+        .tag("name", "test-metered")
+        .tag("table", "standard_sequence_integration_tests");
+  }
+
+  private static Object lastModifiedAt(Session session, String name) {
+    return session
+        .createNativeQuery(
+            "SELECT last_modified_at FROM standard_sequence_integration_tests WHERE name = :name",
+            Object.class)
+        .setParameter("name", name)
+        .uniqueResult();
+  }
+
+  private static Long currentValue(Session session, String name) {
+    return session
+        .createNativeQuery(
+            "SELECT current_value FROM standard_sequence_integration_tests WHERE name = :name",
+            Long.class)
+        .setParameter("name", name)
+        .uniqueResult();
+  }
 }
@@ -0,0 +1,95 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import java.util.concurrent.Callable;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.resource.transaction.spi.IsolationDelegate;
+import org.hibernate.resource.transaction.spi.TransactionCoordinator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceIsolationDelegate}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceIsolationDelegateTests {
+
+  private SharedSessionContractImplementor session;
+  private SessionFactoryImplementor sessionFactory;
+  private StatelessSession isolatedSession;
+  private Transaction transaction;
+  private StandardSequenceIsolationDelegate isolationDelegate;
+
+  @BeforeEach
+  void beforeEach() {
+    session = mock(SharedSessionContractImplementor.class);
+    isolatedSession =
+        mock(
+            StatelessSession.class,
+            withSettings().extraInterfaces(SharedSessionContractImplementor.class));
+    transaction = mock(Transaction.class);
+    isolationDelegate = new StandardSequenceIsolationDelegate();
+
+    TransactionCoordinator transactionCoordinator = mock(TransactionCoordinator.class);
+    IsolationDelegate hibernateIsolationDelegate = mock(IsolationDelegate.class);
+    sessionFactory = mock(SessionFactoryImplementor.class);
+
+    when(session.getTransactionCoordinator()).thenReturn(transactionCoordinator);
+    when(transactionCoordinator.createIsolationDelegate()).thenReturn(hibernateIsolationDelegate);
+    when(hibernateIsolationDelegate.delegateCallable(any(), anyBoolean()))
+        .thenAnswer(invocation -> invocation.<Callable<?>>getArgument(0).call());
+    when(session.getFactory()).thenReturn(sessionFactory);
+    when(sessionFactory.openStatelessSession()).thenReturn(isolatedSession);
+    when(isolatedSession.beginTransaction()).thenReturn(transaction);
+  }
+
+  @Test
+  void execute_commit_whenWorkSucceeds() {
+    Object result = isolationDelegate.execute(session, isolated -> isolated);
+
+    assertThat(result).isSameAs(isolatedSession);
+    verify(transaction).commit();
+    verify(transaction, never()).rollback();
+    verify(isolatedSession).close();
+  }
+
+  @Test
+  void execute_rollback_whenWorkThrows() {
+    when(transaction.isActive()).thenReturn(true);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            isolationDelegate.execute(
+                session,
+                isolated -> {
+                  throw new IllegalStateException("test");
+                }));
+
+    verify(transaction, never()).commit();
+    verify(transaction).rollback();
+    verify(isolatedSession).close();
+  }
+
+  @Test
+  void executeInNewSession_commit_whenWorkSucceeds() {
+    Object result = isolationDelegate.executeInNewSession(sessionFactory, isolated -> isolated);
+
+    assertThat(result).isSameAs(isolatedSession);
+    verify(session, never()).getTransactionCoordinator();
+    verify(transaction).commit();
+    verify(isolatedSession).close();
+  }
+}
@@ -0,0 +1,40 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceManagement}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceManagementTests {
+
+  static class Local {
+
+    @StandardSequence(name = "test-striped", maxValue = 100L, stripes = 2)
+    private long stripedId;
+  }
+
+  @Test
+  void getRemainingValues_sumOverStripes_whenStriped() throws NoSuchFieldException {
+    StandardSequence config =
+        Local.class.getDeclaredField("stripedId").getAnnotation(StandardSequence.class);
+    StandardSequenceStatistics statistics =
+        new StandardSequenceStatistics(config, StandardSequenceRecorder.NOOP);
+    StandardSequenceManagement management =
+        new StandardSequenceManagement(
+            config,
+            statistics,
+            new StandardSequenceDispenser(2, false),
+            new StandardSequenceRegistry().allocationSizer(config));
+
+    statistics.written("test-striped#0", 10);
+    // unknown until each stripe was written
+    assertThat(management.getRemainingValues()).isEqualTo(-1);
+
+    statistics.written("test-striped#1", 21);
+    // 12 to 100 on the even stripe, 23 to 99 on the odd one
+    assertThat(management.getRemainingValues()).isEqualTo(45 + 39);
+  }
+}
@@ -0,0 +1,119 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.boot.model.relational.internal.SqlStringGenerationContextImpl;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceNativeDatabaseObject}
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceNativeDatabaseObjectTests {
+
+  private SqlStringGenerationContext context;
+
+  static class Local {
+
+    @StandardSequence(
+        name = "test_sequence",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        cycle = true,
+        allocationSize = 4,
+        backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    private long ascendingId;
+
+    @StandardSequence(
+        name = "test-sequence",
+        initialValue = 10L,
+        maxValue = 20L,
+        incrementValue = 5,
+        descending = true,
+        backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    private long descendingId;
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    context = SqlStringGenerationContextImpl.forTests(new H2Dialect());
+  }
+
+  private static StandardSequenceNativeDatabaseObject databaseObject(String field)
+      throws NoSuchFieldException {
+    return new StandardSequenceNativeDatabaseObject(
+        Local.class.getDeclaredField(field).getAnnotation(StandardSequence.class));
+  }
+
+  @Test
+  void sqlCreateStrings_whenAscending_Cycling() throws NoSuchFieldException {
+    String[] createStrings = databaseObject("ascendingId").sqlCreateStrings(context);
+    assertThat(createStrings).hasSize(1);
+    assertThat(createStrings[0])
+        .startsWithIgnoringCase("create sequence test_sequence ")
+        .endsWith(" START WITH 10 INCREMENT BY 5 MINVALUE 10 MAXVALUE 20 CYCLE CACHE 4");
+  }
+
+  @Test
+  void sqlCreateStrings_whenDescending_NonCycling() throws NoSuchFieldException {
+    String[] createStrings = databaseObject("descendingId").sqlCreateStrings(context);
+    assertThat(createStrings).hasSize(1);
+    assertThat(createStrings[0])
+        .startsWithIgnoringCase("create sequence \"test-sequence\" ")
+        .endsWith(" START WITH 20 INCREMENT BY -5 MINVALUE 10 MAXVALUE 20 NO CYCLE");
+  }
+
+  @Test
+  void sqlCreateStrings_qualified_whenDefaultSchema() throws NoSuchFieldException {
+    SqlStringGenerationContext schemaContext =
+        SqlStringGenerationContextImpl.forTests(new H2Dialect(), null, "app");
+
+    assertThat(databaseObject("ascendingId").sqlCreateStrings(schemaContext)[0])
+        .startsWithIgnoringCase("create sequence app.test_sequence ");
+    assertThat(databaseObject("ascendingId").sqlDropStrings(schemaContext)[0])
+        .contains("app.test_sequence");
+  }
+
+  @Test
+  void sqlCreateStrings_noCycleKeyword_whenOracle() throws NoSuchFieldException {
+    SqlStringGenerationContext oracleContext =
+        SqlStringGenerationContextImpl.forTests(new OracleDialect());
+
+    assertThat(databaseObject("descendingId").sqlCreateStrings(oracleContext)[0])
+        .endsWith(" MAXVALUE 20 NOCYCLE");
+  }
+
+  @Test
+  void sqlDropStrings() throws NoSuchFieldException {
+    String[] dropStrings = databaseObject("ascendingId").sqlDropStrings(context);
+    assertThat(dropStrings).hasSize(1);
+    assertThat(dropStrings[0]).containsIgnoringCase("drop sequence").contains("test_sequence");
+  }
+
+  @Test
+  void appliesToDialect_whenSyntaxVerifiedOnDialect() throws NoSuchFieldException {
+    StandardSequenceNativeDatabaseObject databaseObject = databaseObject("ascendingId");
+
+    assertThat(databaseObject.appliesToDialect(new H2Dialect())).isTrue();
+    assertThat(databaseObject.appliesToDialect(new PostgreSQLDialect())).isTrue();
+    assertThat(databaseObject.appliesToDialect(new OracleDialect())).isTrue();
+    assertThat(databaseObject.appliesToDialect(new MySQLDialect())).isFalse();
+    // supports sequences, but the appended options are not verified on it
+    assertThat(databaseObject.appliesToDialect(new MariaDBDialect())).isFalse();
+  }
+
+  @Test
+  void getExportIdentifier_sameSequenceName() throws NoSuchFieldException {
+    assertThat(databaseObject("ascendingId").getExportIdentifier())
+        .isEqualTo(databaseObject("ascendingId").getExportIdentifier())
+        .isNotEqualTo(databaseObject("descendingId").getExportIdentifier());
+  }
+}
@@ -0,0 +1,74 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.hibernate.boot.model.relational.internal.SqlStringGenerationContextImpl;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.query.sql.spi.NativeQueryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceNativeQuery}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceNativeQueryTests {
+
+  private SharedSessionContractImplementor session;
+  private JdbcServices jdbcServices;
+  private StandardSequenceNativeQuery query;
+
+  @BeforeEach
+  void beforeEach() {
+    session = mock(SharedSessionContractImplementor.class);
+    jdbcServices = mock(JdbcServices.class);
+    query = new StandardSequenceNativeQuery("test_sequence");
+
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    when(session.getFactory()).thenReturn(sessionFactory);
+    when(sessionFactory.getJdbcServices()).thenReturn(jdbcServices);
+    when(jdbcServices.getDialect()).thenReturn(new H2Dialect());
+    when(sessionFactory.getSqlStringGenerationContext())
+        .thenReturn(SqlStringGenerationContextImpl.forTests(new H2Dialect()));
+  }
+
+  @Test
+  void nextValue_returnValue_whenSequenceReturnValue() {
+    @SuppressWarnings("unchecked")
+    NativeQueryImplementor<Long> nativeQuery = mock(NativeQueryImplementor.class);
+    when(session.createNativeQuery(anyString(), eq(Long.class))).thenReturn(nativeQuery);
+    when(nativeQuery.uniqueResult()).thenReturn(123L);
+
+    assertThat(query.nextValue(session)).isEqualTo(123L);
+    verify(session).createNativeQuery(contains("test_sequence"), eq(Long.class));
+  }
+
+  @Test
+  void nextValue_throws_whenSequenceReturnNull() {
+    @SuppressWarnings("unchecked")
+    NativeQueryImplementor<Long> nativeQuery = mock(NativeQueryImplementor.class);
+    when(session.createNativeQuery(anyString(), eq(Long.class))).thenReturn(nativeQuery);
+    when(nativeQuery.uniqueResult()).thenReturn(null);
+
+    assertThrows(IdentifierGenerationException.class, () -> query.nextValue(session));
+  }
+
+  @Test
+  void nextValue_throws_whenDialectNotSupportSequences() {
+    when(jdbcServices.getDialect()).thenReturn(new MySQLDialect());
+
+    assertThrows(IdentifierGenerationException.class, () -> query.nextValue(session));
+  }
+}
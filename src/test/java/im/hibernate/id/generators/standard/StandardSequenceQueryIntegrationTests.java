@@ -255,6 +255,127 @@ class StandardSequenceQueryIntegrationTests {
     }
   }
 
+  @Test
+  void insertIfAbsent_returnTrue_whenRowNotExists() {
+    StandardSequenceQuery query =
+        new StandardSequenceQuery(
+            "standard_sequence_query_integration_tests",
+            "name",
+            "current_value",
+            "created_at",
+            "last_modified_at",
+            "insert-if-absent-row-not-exists");
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      assertThat(
+              query.insertIfAbsent(
+                  (SharedSessionContractImplementor) session, new StandardSequenceState(123L)))
+          .isTrue();
+      session.getTransaction().commit();
+    }
+
+    assertThat(currentValue("insert-if-absent-row-not-exists")).isEqualTo(123L);
+  }
+
+  @Test
+  void insertIfAbsent_returnFalse_whenRowAlreadyExist() {
+    StandardSequenceQuery query =
+        new StandardSequenceQuery(
+            "standard_sequence_query_integration_tests",
+            "name",
+            "current_value",
+            "created_at",
+            "last_modified_at",
+            "insert-if-absent-row-exists");
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      session
+          .createNativeMutationQuery(
+              "INSERT INTO standard_sequence_query_integration_tests VALUES('insert-if-absent-row-exists', 123, '2025-09-20T18:00:00.000', null)")
+          .executeUpdate();
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      assertThat(
+              query.insertIfAbsent(
+                  (SharedSessionContractImplementor) session, new StandardSequenceState(456L)))
+          .isFalse();
+      session.getTransaction().commit();
+    }
+
+    assertThat(currentValue("insert-if-absent-row-exists")).isEqualTo(123L);
+  }
+
+  @Test
+  void insertIfAbsent_returnFalse_whenInsertedConcurrently()
+      throws InterruptedException, ExecutionException {
+    StandardSequenceQuery query =
+        new StandardSequenceQuery(
+            "standard_sequence_query_integration_tests",
+            "name",
+            "current_value",
+            "created_at",
+            "last_modified_at",
+            "insert-if-absent-concurrently");
+
+    try (Session session1 = sessionFactory.openSession();
+        Session session2 = sessionFactory.openSession()) {
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      CountDownLatch latch = new CountDownLatch(1);
+
+      Future<Boolean> future1 =
+          executor.submit(
+              () -> {
+                latch.await();
+
+                session1.beginTransaction();
+                boolean inserted =
+                    query.insertIfAbsent(
+                        (SharedSessionContractImplementor) session1,
+                        new StandardSequenceState(123L));
+
+                Thread.sleep(1000);
+
+                session1.getTransaction().commit();
+                return inserted;
+              });
+
+      Future<StandardSequenceState> future2 =
+          executor.submit(
+              () -> {
+                latch.await();
+                Thread.sleep(100);
+
+                session2.beginTransaction();
+                boolean inserted =
+                    query.insertIfAbsent(
+                        (SharedSessionContractImplementor) session2,
+                        new StandardSequenceState(456L));
+                assertThat(inserted).isFalse();
+
+                // as the generator does, reload the row the other transaction initialized
+                StandardSequenceState state =
+                    query.load((SharedSessionContractImplementor) session2);
+                session2.getTransaction().commit();
+                return state;
+              });
+
+      latch.countDown();
+
+      assertThat(future1.get()).isTrue();
+      assertThat(future2.get().getCurrentValue()).isEqualTo(123L);
+
+      executor.shutdown();
+    }
+
+    assertThat(currentValue("insert-if-absent-concurrently")).isEqualTo(123L);
+  }
+
   @Test
   void insert_successful_whenRowExists() {
     StandardSequenceQuery query =
@@ -299,4 +420,119 @@ class StandardSequenceQueryIntegrationTests {
       assertThat(result.get("current_value", Long.class)).isEqualTo(124L);
     }
   }
+
+  static class Local {
+
+    @StandardSequence(name = "increment", maxValue = 125L, incrementValue = 2)
+    private long nonCyclingId;
+
+    @StandardSequence(name = "increment", maxValue = 125L, incrementValue = 2, cycle = true)
+    private long cyclingId;
+
+    @StandardSequence(
+        name = "increment",
+        initialValue = 100L,
+        incrementValue = 2,
+        descending = true,
+        cycle = true)
+    private long descendingCyclingId;
+  }
+
+  @Test
+  void increment_returnState_whenNextValueWithinMaxValue() throws NoSuchFieldException {
+    assertThat(increment("increment-within-max-value", 122L, "nonCyclingId"))
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(124L);
+    assertThat(currentValue("increment-within-max-value")).isEqualTo(124L);
+  }
+
+  @Test
+  void increment_returnNull_whenNextValueExceedMaxValue_nonCycling() throws NoSuchFieldException {
+    assertThat(increment("increment-exceed-max-value", 124L, "nonCyclingId")).isNull();
+    assertThat(currentValue("increment-exceed-max-value")).isEqualTo(124L);
+  }
+
+  @Test
+  void increment_returnInitialState_whenNextValueExceedMaxValue_cycling()
+      throws NoSuchFieldException {
+    assertThat(increment("increment-cycling", 124L, "cyclingId"))
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(0L);
+    assertThat(currentValue("increment-cycling")).isEqualTo(0L);
+  }
+
+  @Test
+  void increment_returnMaxState_whenNextValueBelowInitialValue_descendingCycling()
+      throws NoSuchFieldException {
+    assertThat(increment("increment-descending-cycling", 101L, "descendingCyclingId"))
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void increment_returnNull_whenRowNotExists() throws NoSuchFieldException {
+    StandardSequence config =
+        Local.class.getDeclaredField("nonCyclingId").getAnnotation(StandardSequence.class);
+    StandardSequenceQuery query =
+        new StandardSequenceQuery(
+            "standard_sequence_query_integration_tests",
+            "name",
+            "current_value",
+            "created_at",
+            "last_modified_at",
+            "increment-row-not-exists");
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      assertThat(query.increment((SharedSessionContractImplementor) session, config)).isNull();
+      session.getTransaction().commit();
+    }
+  }
+
+  private StandardSequenceState increment(String name, long currentValue, String field)
+      throws NoSuchFieldException {
+    StandardSequence config =
+        Local.class.getDeclaredField(field).getAnnotation(StandardSequence.class);
+    StandardSequenceQuery query =
+        new StandardSequenceQuery(
+            "standard_sequence_query_integration_tests",
+            "name",
+            "current_value",
+            "created_at",
+            "last_modified_at",
+            name);
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      session
+          .createNativeMutationQuery(
+              "INSERT INTO standard_sequence_query_integration_tests VALUES(:name, :currentValue, '2025-09-20T18:00:00.000', null)")
+          .setParameter("name", name)
+          .setParameter("currentValue", currentValue)
+          .executeUpdate();
+      session.getTransaction().commit();
+    }
+
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      StandardSequenceState state =
+          query.increment((SharedSessionContractImplementor) session, config);
+      session.getTransaction().commit();
+      return state;
+    }
+  }
+
+  private Long currentValue(String name) {
+    try (Session session = sessionFactory.openSession()) {
+      return session
+          .createNativeQuery(
+              "SELECT current_value FROM standard_sequence_query_integration_tests WHERE name = :name",
+              Long.class)
+          .setParameter("name", name)
+          .uniqueResult();
+    }
+  }
 }
@@ -3,18 +3,35 @@ package im.hibernate.id.generators.standard;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.jdbc.spi.ResultSetReturn;
+import org.hibernate.engine.jdbc.spi.StatementPreparer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.query.MutationQuery;
-import org.hibernate.query.sql.spi.NativeQueryImplementor;
+import org.hibernate.resource.jdbc.ResourceRegistry;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import jakarta.persistence.Tuple;
+import im.hibernate.id.generators.LongSequenceQuery;
 
 /**
  * Tests for {@link StandardSequenceQuery}.
@@ -24,11 +41,43 @@ import jakarta.persistence.Tuple;
 class StandardSequenceQueryTests {
 
   private SharedSessionContractImplementor session;
+  private JdbcServices jdbcServices;
+  private JdbcCoordinator jdbcCoordinator;
+  private StatementPreparer statementPreparer;
+  private ResultSetReturn resultSetReturn;
+  private ResourceRegistry resourceRegistry;
+  private PreparedStatement statement;
   private StandardSequenceQuery query;
 
+  static class Local {
+
+    @StandardSequence(name = "test-sequence", cycle = true)
+    private long id;
+  }
+
   @BeforeEach
   void beforeEach() {
     session = mock(SharedSessionContractImplementor.class);
+    jdbcServices = mock(JdbcServices.class);
+
+    SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+    when(session.getFactory()).thenReturn(sessionFactory);
+    when(sessionFactory.getJdbcServices()).thenReturn(jdbcServices);
+    when(jdbcServices.getDialect()).thenReturn(new H2Dialect());
+
+    jdbcCoordinator = mock(JdbcCoordinator.class);
+    statementPreparer = mock(StatementPreparer.class);
+    resultSetReturn = mock(ResultSetReturn.class);
+    resourceRegistry = mock(ResourceRegistry.class);
+    statement = mock(PreparedStatement.class);
+    LogicalConnectionImplementor logicalConnection = mock(LogicalConnectionImplementor.class);
+    when(session.getJdbcCoordinator()).thenReturn(jdbcCoordinator);
+    when(jdbcCoordinator.getStatementPreparer()).thenReturn(statementPreparer);
+    when(jdbcCoordinator.getResultSetReturn()).thenReturn(resultSetReturn);
+    when(jdbcCoordinator.getLogicalConnection()).thenReturn(logicalConnection);
+    when(logicalConnection.getResourceRegistry()).thenReturn(resourceRegistry);
+    when(statementPreparer.prepareStatement(anyString())).thenReturn(statement);
+
     query =
         new StandardSequenceQuery(
             "test_standard_sequence",
@@ -39,91 +88,392 @@ class StandardSequenceQueryTests {
             "test-sequence");
   }
 
+  private static StandardSequenceQuery query(StandardSequenceTimestampMode timestampMode) {
+    return new StandardSequenceQuery(
+        "test_standard_sequence",
+        "name",
+        "current_value",
+        "created_at",
+        "last_modified_at",
+        "test-sequence",
+        timestampMode);
+  }
+
   @Test
-  void loan_returnNull_whenNoRowFound() {
-    @SuppressWarnings("unchecked")
-    NativeQueryImplementor<Tuple> nativeQuery = mock(NativeQueryImplementor.class);
-    when(session.createNativeQuery(anyString(), eq(Tuple.class))).thenReturn(nativeQuery);
-    when(nativeQuery.setParameter(eq("name"), any())).thenReturn(nativeQuery);
-    when(nativeQuery.uniqueResult()).thenReturn(null);
+  void load_returnNull_whenNoRowFound() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
 
     StandardSequenceState state = query.load(session);
     assertThat(state).isNull();
+    verify(statement).setString(1, "test-sequence");
+    verify(resourceRegistry).release(statement);
   }
 
   @Test
-  void load_returnState_whenRowFound() {
-    @SuppressWarnings("unchecked")
-    NativeQueryImplementor<Tuple> nativeQuery = mock(NativeQueryImplementor.class);
-    when(session.createNativeQuery(anyString(), eq(Tuple.class))).thenReturn(nativeQuery);
-    when(nativeQuery.setParameter(eq("name"), any())).thenReturn(nativeQuery);
-
-    Tuple result = mock(Tuple.class);
-    when(result.get("current_value", Long.class)).thenReturn(123L);
-    when(nativeQuery.uniqueResult()).thenReturn(result);
+  void load_returnState_whenRowFound() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(123L);
 
     StandardSequenceState state = query.load(session);
     assertThat(state)
         .isNotNull()
         .extracting(StandardSequenceState::getCurrentValue)
         .isEqualTo(123L);
+    verify(statementPreparer)
+        .prepareStatement(
+            "SELECT current_value FROM test_standard_sequence WHERE name = ? FOR UPDATE");
+    verify(resourceRegistry).release(statement);
+    verify(jdbcCoordinator).afterStatementExecution();
+  }
+
+  @Test
+  void loadValue_returnNoValue_whenNoRowFound() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    assertThat(query.loadValue(session)).isEqualTo(LongSequenceQuery.NO_VALUE);
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void loadValue_returnValue_whenRowFound() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(123L);
+
+    assertThat(query.loadValue(session)).isEqualTo(123L);
+    verify(statement).setString(1, "test-sequence");
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void readValue_withoutLock() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(123L);
+
+    assertThat(query.readValue(session)).isEqualTo(123L);
+    verify(statementPreparer)
+        .prepareStatement("SELECT current_value FROM test_standard_sequence WHERE name = ?");
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void compareAndSetValue_true_whenAffectedRowsNonZero() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    assertThat(query.compareAndSetValue(session, 10L, 11L, false)).isTrue();
+    verify(statementPreparer)
+        .prepareStatement(
+            "UPDATE test_standard_sequence SET current_value = ?, last_modified_at = ?"
+                + " WHERE name = ? AND current_value = ?");
+    verify(statement).setLong(1, 11L);
+    verify(statement).setString(3, "test-sequence");
+    verify(statement).setLong(4, 10L);
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void compareAndSetValue_false_whenAffectedRowsZero() {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
+
+    assertThat(query.compareAndSetValue(session, 10L, 11L, false)).isFalse();
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void updateValue_recordRoundTripAndWrittenValue() {
+    StandardSequenceRecorder recorder = mock(StandardSequenceRecorder.class);
+    when(recorder.start()).thenReturn(42L);
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    query.withRecorder(recorder).updateValue(session, 11L);
+    verify(recorder).record(StandardSequenceRecorder.Operation.UPDATE, 42L);
+    verify(recorder).written("test-sequence", 11L);
+  }
+
+  @Test
+  void compareAndSetValue_recordRoundTripOnly_whenAffectedRowsZero() {
+    StandardSequenceRecorder recorder = mock(StandardSequenceRecorder.class);
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
+
+    assertThat(query.withRecorder(recorder).compareAndSetValue(session, 10L, 11L, false))
+        .isFalse();
+    verify(recorder).record(eq(StandardSequenceRecorder.Operation.UPDATE), anyLong());
+    verify(recorder, never()).written(anyString(), anyLong());
   }
 
   @Test
-  void insert_success_whenAffectedRowsNonZero() {
-    MutationQuery mutationQuery = mock(MutationQuery.class);
-    when(session.createNativeMutationQuery(anyString())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("name"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("currentValue"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("createdAt"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.executeUpdate()).thenReturn(1);
+  void insert_success_whenAffectedRowsNonZero() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
 
     query.insert(session, new StandardSequenceState(1));
-    verify(mutationQuery, times(1)).executeUpdate();
+    verify(statement).setString(1, "test-sequence");
+    verify(statement).setLong(2, 1L);
+    verify(resultSetReturn, times(1)).executeUpdate(eq(statement), anyString());
+    verify(resourceRegistry).release(statement);
   }
 
   @Test
   void insert_throws_whenAffectedRowsZero() {
-    MutationQuery mutationQuery = mock(MutationQuery.class);
-    when(session.createNativeMutationQuery(anyString())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("name"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("currentValue"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("createdAt"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.executeUpdate()).thenReturn(0);
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
 
     assertThrowsExactly(
         IllegalStateException.class, () -> query.insert(session, new StandardSequenceState(123)));
-    verify(mutationQuery, times(1)).executeUpdate();
+    verify(resultSetReturn, times(1)).executeUpdate(eq(statement), anyString());
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void insertIfAbsent_returnTrue_whenAffectedRowsNonZero() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    assertThat(query.insertIfAbsent(session, new StandardSequenceState(1))).isTrue();
+    verify(statementPreparer)
+        .prepareStatement(
+            "MERGE INTO test_standard_sequence USING (SELECT 1 AS one) s"
+                + " ON (test_standard_sequence.name = ?) WHEN NOT MATCHED THEN"
+                + " INSERT (name, current_value, created_at) VALUES(?, ?, ?)");
+    verify(statement).setString(1, "test-sequence");
+    verify(statement).setString(2, "test-sequence");
+    verify(statement).setLong(3, 1L);
+    verify(statement).setTimestamp(eq(4), any());
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void insertIfAbsent_returnFalse_whenAffectedRowsZero() {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
+
+    assertThat(query.insertIfAbsent(session, new StandardSequenceState(1))).isFalse();
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void insertIfAbsent_insertIgnore_whenMySQL() throws SQLException {
+    when(jdbcServices.getDialect()).thenReturn(new MySQLDialect());
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    assertThat(query.insertIfAbsent(session, new StandardSequenceState(1))).isTrue();
+    verify(statementPreparer).prepareStatement(startsWith("INSERT IGNORE INTO"));
+    verify(statement).setString(1, "test-sequence");
+    verify(statement).setLong(2, 1L);
+  }
+
+  @Test
+  void insertIfAbsent_renderedOnce_whenCalledRepeatedly() {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
+    H2Dialect dialect = new H2Dialect();
+    when(jdbcServices.getDialect()).thenReturn(dialect);
+
+    query.insertIfAbsent(session, new StandardSequenceState(1));
+    StandardSequenceQuery.InsertIfAbsentSql rendered = query.insertIfAbsentSql(dialect);
+    query.insertIfAbsent(session, new StandardSequenceState(1));
+
+    assertThat(query.insertIfAbsentSql(dialect)).isSameAs(rendered);
+    verify(session, never()).createNativeMutationQuery(anyString());
   }
 
   @Test
-  void update_success_whenAffectedRowsNonZero() {
-    MutationQuery mutationQuery = mock(MutationQuery.class);
-    when(session.createNativeMutationQuery(anyString())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("name"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("currentValue"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("lastModifiedAt"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.executeUpdate()).thenReturn(1);
+  void update_success_whenAffectedRowsNonZero() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
 
     StandardSequenceState state = query.update(session, new StandardSequenceState(123));
     assertThat(state)
         .isNotNull()
         .extracting(StandardSequenceState::getCurrentValue)
         .isEqualTo(123L);
-    verify(mutationQuery, times(1)).executeUpdate();
+    verify(statement).setLong(1, 123L);
+    verify(statement).setString(3, "test-sequence");
+    verify(resultSetReturn, times(1)).executeUpdate(eq(statement), anyString());
   }
 
   @Test
   void update_throws_whenAffectedRowsZero() {
-    MutationQuery mutationQuery = mock(MutationQuery.class);
-    when(session.createNativeMutationQuery(anyString())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("name"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("currentValue"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.setParameter(eq("lastModifiedAt"), any())).thenReturn(mutationQuery);
-    when(mutationQuery.executeUpdate()).thenReturn(0);
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(0);
 
     assertThrowsExactly(
         IllegalStateException.class, () -> query.update(session, new StandardSequenceState(123)));
-    verify(mutationQuery, times(1)).executeUpdate();
+    verify(resultSetReturn, times(1)).executeUpdate(eq(statement), anyString());
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void updateValue_withoutTimestamp_whenTimestampModeNone() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    query(StandardSequenceTimestampMode.NONE).updateValue(session, 123L);
+    verify(statementPreparer)
+        .prepareStatement("UPDATE test_standard_sequence SET current_value = ? WHERE name = ?");
+    verify(statement).setLong(1, 123L);
+    verify(statement).setString(2, "test-sequence");
+    verify(statement, never()).setTimestamp(anyInt(), any());
+  }
+
+  @Test
+  void insertAndUpdate_currentTimestamp_whenTimestampModeDatabase() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    StandardSequenceQuery databaseQuery = query(StandardSequenceTimestampMode.DATABASE);
+    databaseQuery.insertValue(session, 1L);
+    databaseQuery.updateValue(session, 2L);
+    verify(statementPreparer)
+        .prepareStatement(
+            "INSERT INTO test_standard_sequence(name, current_value, created_at)"
+                + " VALUES(?, ?, CURRENT_TIMESTAMP)");
+    verify(statementPreparer)
+        .prepareStatement(
+            "UPDATE test_standard_sequence SET current_value = ?,"
+                + " last_modified_at = CURRENT_TIMESTAMP WHERE name = ?");
+    verify(statement, never()).setTimestamp(anyInt(), any());
+  }
+
+  @Test
+  void updateBlock_withTimestamp_whenTimestampModeOnRefill() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    StandardSequenceQuery onRefillQuery = query(StandardSequenceTimestampMode.ON_REFILL);
+    onRefillQuery.updateValue(session, 2L);
+    verify(statement, never()).setTimestamp(anyInt(), any());
+
+    onRefillQuery.updateBlock(session, new StandardSequenceState(12L));
+    verify(statementPreparer)
+        .prepareStatement(
+            "UPDATE test_standard_sequence SET current_value = ?, last_modified_at = ?"
+                + " WHERE name = ?");
+    verify(statement).setTimestamp(eq(2), any());
+    verify(statement).setString(3, "test-sequence");
+  }
+
+  @Test
+  void withName_renderStatementsForName() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    query.withName("test-sequence#1").update(session, new StandardSequenceState(123));
+    verify(statement).setString(3, "test-sequence#1");
+  }
+
+  @Test
+  void loadValues_returnExistingRows() throws SQLException {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getString(1)).thenReturn("test-a");
+    when(resultSet.getLong(2)).thenReturn(123L);
+
+    assertThat(query.loadValues(session, List.of("test-a", "test-b")))
+        .containsExactlyEntriesOf(Map.of("test-a", 123L));
+    verify(statementPreparer)
+        .prepareStatement(
+            "SELECT name, current_value FROM test_standard_sequence WHERE name IN (?, ?)"
+                + " ORDER BY name FOR UPDATE");
+    verify(statement).setString(1, "test-a");
+    verify(statement).setString(2, "test-b");
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void updateValues_success_whenAllRowsAffected() throws SQLException {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(2);
+    Map<String, Long> values = new LinkedHashMap<>();
+    values.put("test-a", 10L);
+    values.put("test-b", 20L);
+
+    query.updateValues(session, values);
+    verify(statementPreparer)
+        .prepareStatement(
+            "UPDATE test_standard_sequence SET current_value = CASE name"
+                + " WHEN ? THEN ? WHEN ? THEN ? END, last_modified_at = ?"
+                + " WHERE name IN (?, ?)");
+    verify(statement).setString(1, "test-a");
+    verify(statement).setLong(2, 10L);
+    verify(statement).setString(3, "test-b");
+    verify(statement).setLong(4, 20L);
+    verify(statement).setString(6, "test-a");
+    verify(statement).setString(7, "test-b");
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void updateValues_leaveWritesToRowQueries() throws SQLException {
+    StandardSequenceRecorder recorder = mock(StandardSequenceRecorder.class);
+    StandardSequenceRecorder rowRecorder = mock(StandardSequenceRecorder.class);
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    query.withRecorder(recorder).updateValues(session, Map.of("test-a", 10L));
+    query.withName("test-a").withRecorder(rowRecorder).written(10L);
+
+    verify(recorder).record(eq(StandardSequenceRecorder.Operation.UPDATE), anyLong());
+    verify(recorder, never()).written(anyString(), anyLong());
+    verify(rowRecorder).written("test-a", 10L);
+  }
+
+  @Test
+  void updateValues_throws_whenRowMissing() {
+    when(resultSetReturn.executeUpdate(eq(statement), anyString())).thenReturn(1);
+
+    assertThrowsExactly(
+        IllegalStateException.class,
+        () -> query.updateValues(session, Map.of("test-a", 10L, "test-b", 20L)));
+    verify(resourceRegistry).release(statement);
+  }
+
+  @Test
+  void supportsIncrement_true_whenH2Dialect() {
+    assertThat(query.supportsIncrement(session)).isTrue();
+  }
+
+  @Test
+  void supportsIncrement_false_whenMySQLDialect() {
+    when(jdbcServices.getDialect()).thenReturn(new MySQLDialect());
+
+    assertThat(query.supportsIncrement(session)).isFalse();
+  }
+
+  @Test
+  void increment_returnState_whenRowIncremented() throws Exception {
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(124L);
+
+    StandardSequenceState state = query.increment(session, config);
+    assertThat(state)
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(124L);
+    verify(statementPreparer)
+        .prepareStatement(
+            "SELECT current_value FROM FINAL TABLE (UPDATE test_standard_sequence SET"
+                + " current_value = CASE WHEN current_value <= ? THEN current_value + ?"
+                + " ELSE ? END, last_modified_at = ? WHERE name = ?)");
+    verify(statement).setLong(1, Long.MAX_VALUE - 1);
+    verify(statement).setLong(2, 1L);
+    verify(statement).setLong(3, 0L);
+    verify(statement).setTimestamp(eq(4), any());
+    verify(statement).setString(5, "test-sequence");
+    verify(resourceRegistry).release(statement);
+    verify(session, never()).createNativeQuery(anyString(), eq(Long.class));
+  }
+
+  @Test
+  void increment_returnNull_whenNoRowIncremented() throws Exception {
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSetReturn.extract(eq(statement), anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    assertThat(query.increment(session, config)).isNull();
+    verify(resourceRegistry).release(statement);
   }
 }
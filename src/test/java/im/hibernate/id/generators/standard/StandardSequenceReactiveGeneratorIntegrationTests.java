@@ -0,0 +1,295 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.reactive.pool.ReactiveConnection;
+import org.hibernate.reactive.pool.ReactiveConnectionPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration tests for {@link StandardSequenceReactiveGenerator}, with the reactive connections
+ * of the pool running their statements on an in-memory H2 database.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceReactiveGeneratorIntegrationTests {
+
+  private static final String URL = "jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1";
+
+  private static final H2Dialect DIALECT = new H2Dialect();
+
+  private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+  private static Connection connection;
+
+  private final AtomicBoolean hideRowOnce = new AtomicBoolean();
+
+  private ReactiveConnectionPool connectionPool;
+  private List<ReactiveConnection> connections;
+
+  static class Local {
+
+    @ReactiveStandardSequence(@StandardSequence(name = "reactive", allocationSize = 3))
+    private long id;
+
+    @ReactiveStandardSequence(
+        @StandardSequence(
+            name = "reactive-timestamps",
+            timestamps = StandardSequenceTimestampMode.NONE))
+    private long noTimestampsId;
+
+    @ReactiveStandardSequence(@StandardSequence(name = "reactive-bounded", maxValue = 1))
+    private long boundedId;
+
+    @ReactiveStandardSequence(@StandardSequence(name = "reactive-striped", stripes = 2))
+    private long stripedId;
+  }
+
+  @BeforeAll
+  static void beforeAll() throws SQLException {
+    connection = DriverManager.getConnection(URL);
+    SqlStringGenerationContext context = mock(SqlStringGenerationContext.class);
+    when(context.getDialect()).thenReturn(DIALECT);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(new StandardSequenceDatabaseObject().sqlCreateStrings(context)[0]);
+    }
+  }
+
+  @AfterAll
+  static void afterAll() throws SQLException {
+    connection.close();
+  }
+
+  @BeforeEach
+  void beforeEach() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DELETE FROM " + StandardSequenceConstants.SEQUENCE_TABLE);
+    }
+    connections = new ArrayList<>();
+    connectionPool = mock(ReactiveConnectionPool.class);
+    when(connectionPool.getConnection())
+        .thenAnswer(invocation -> CompletableFuture.supplyAsync(this::open, EXECUTOR));
+  }
+
+  @Test
+  void generate_valuesFromMemory_untilBlockExhausted() throws Exception {
+    StandardSequenceReactiveGenerator generator = generator("id");
+
+    for (long value = 0L; value <= 6L; value++) {
+      assertThat(generator.generate(null, null).toCompletableFuture().join()).isEqualTo(value);
+    }
+
+    assertThat(connections).hasSize(3);
+    assertThat(currentValue("reactive")).isEqualTo(8L);
+    for (ReactiveConnection reactiveConnection : connections) {
+      verify(reactiveConnection).commitTransaction();
+      verify(reactiveConnection).close();
+    }
+  }
+
+  @Test
+  void generate_uniqueValues_whenGeneratedConcurrently() throws Exception {
+    StandardSequenceReactiveGenerator generator = generator("id");
+    List<CompletionStage<Long>> stages = new ArrayList<>();
+
+    for (int i = 0; i < 300; i++) {
+      stages.add(
+          CompletableFuture.supplyAsync(() -> generator.generate(null, null), EXECUTOR)
+              .thenCompose(stage -> stage));
+    }
+
+    Set<Long> values = ConcurrentHashMap.newKeySet();
+    for (CompletionStage<Long> stage : stages) {
+      values.add(stage.toCompletableFuture().join());
+    }
+    assertThat(values).hasSize(300);
+    assertThat(currentValue("reactive")).isGreaterThanOrEqualTo(299L);
+  }
+
+  @Test
+  void generate_noTimestamps_whenTimestampModeNone() throws Exception {
+    StandardSequenceReactiveGenerator generator = generator("noTimestampsId");
+
+    assertThat(generator.generate(null, null).toCompletableFuture().join()).isEqualTo(0L);
+    assertThat(generator.generate(null, null).toCompletableFuture().join()).isEqualTo(1L);
+    assertThat(currentValue("reactive-timestamps")).isEqualTo(1L);
+  }
+
+  @Test
+  void generate_advanceRow_whenInitializedConcurrently() throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "INSERT INTO im_standard_sequence (name, current_value, created_at)"
+              + " VALUES ('reactive', 5, CURRENT_TIMESTAMP)");
+    }
+    // the row is initialized by another generator once this one found it missing
+    hideRowOnce.set(true);
+    StandardSequenceReactiveGenerator generator = generator("id");
+
+    assertThat(generator.generate(null, null).toCompletableFuture().join()).isEqualTo(6L);
+    assertThat(hideRowOnce).isFalse();
+    assertThat(currentValue("reactive")).isEqualTo(8L);
+    verify(connections.get(0)).commitTransaction();
+  }
+
+  @Test
+  void generate_rollbackAndClose_whenSequenceExhausted() throws Exception {
+    StandardSequenceReactiveGenerator generator = generator("boundedId");
+    generator.generate(null, null).toCompletableFuture().join();
+    generator.generate(null, null).toCompletableFuture().join();
+
+    assertThatThrownBy(() -> generator.generate(null, null).toCompletableFuture().join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IdentifierGenerationException.class);
+
+    ReactiveConnection failed = connections.get(connections.size() - 1);
+    verify(failed).rollbackTransaction();
+    verify(failed, never()).commitTransaction();
+    verify(failed).close();
+    assertThat(currentValue("reactive-bounded")).isEqualTo(1L);
+  }
+
+  @Test
+  void constructor_throwException_whenStriped() throws Exception {
+    StandardSequence config = config("stripedId");
+
+    assertThatThrownBy(
+            () -> new StandardSequenceReactiveGenerator(config, DIALECT, () -> connectionPool))
+        .isInstanceOf(IdentifierGenerationException.class)
+        .hasMessageContaining("reactive-striped");
+  }
+
+  private StandardSequenceReactiveGenerator generator(String field) throws Exception {
+    return new StandardSequenceReactiveGenerator(config(field), DIALECT, () -> connectionPool);
+  }
+
+  private static StandardSequence config(String field) throws Exception {
+    return Local.class
+        .getDeclaredField(field)
+        .getAnnotation(ReactiveStandardSequence.class)
+        .value();
+  }
+
+  private static long currentValue(String name) throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            "SELECT current_value FROM im_standard_sequence WHERE name = ?")) {
+      statement.setString(1, name);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        assertThat(resultSet.next()).isTrue();
+        return resultSet.getLong(1);
+      }
+    }
+  }
+
+  /** Reactive connection running its statements on a JDBC connection of its own. */
+  private ReactiveConnection open() {
+    try {
+      Connection jdbc = DriverManager.getConnection(URL);
+      ReactiveConnection reactiveConnection = mock(ReactiveConnection.class);
+      when(reactiveConnection.beginTransaction())
+          .thenAnswer(i -> run(() -> jdbc.setAutoCommit(false)));
+      when(reactiveConnection.commitTransaction()).thenAnswer(i -> run(jdbc::commit));
+      when(reactiveConnection.rollbackTransaction()).thenAnswer(i -> run(jdbc::rollback));
+      when(reactiveConnection.close()).thenAnswer(i -> run(jdbc::close));
+      when(reactiveConnection.selectIdentifier(anyString(), any(Object[].class), eq(Long.class)))
+          .thenAnswer(
+              i ->
+                  supply(
+                      () -> {
+                        try (PreparedStatement statement =
+                                prepare(jdbc, i.getArgument(0), i.getArgument(1));
+                            ResultSet resultSet = statement.executeQuery()) {
+                          boolean found = resultSet.next();
+                          return found && !hideRowOnce.getAndSet(false)
+                              ? resultSet.getLong(1)
+                              : null;
+                        }
+                      }));
+      when(reactiveConnection.update(anyString(), any(Object[].class)))
+          .thenAnswer(
+              i ->
+                  supply(
+                      () -> {
+                        try (PreparedStatement statement =
+                            prepare(jdbc, i.getArgument(0), i.getArgument(1))) {
+                          return statement.executeUpdate();
+                        }
+                      }));
+      synchronized (connections) {
+        connections.add(reactiveConnection);
+      }
+      return reactiveConnection;
+    } catch (SQLException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private static PreparedStatement prepare(Connection jdbc, String sql, Object[] parameters)
+      throws SQLException {
+    PreparedStatement statement = jdbc.prepareStatement(sql);
+    for (int i = 0; i < parameters.length; i++) {
+      statement.setObject(i + 1, parameters[i]);
+    }
+    return statement;
+  }
+
+  private static CompletionStage<Void> run(JdbcAction work) {
+    return supply(
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  private static <T> CompletionStage<T> supply(Jdbc<T> work) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return work.call();
+          } catch (SQLException e) {
+            throw new CompletionException(e);
+          }
+        },
+        EXECUTOR);
+  }
+
+  @FunctionalInterface
+  private interface Jdbc<T> {
+    T call() throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface JdbcAction {
+    void run() throws SQLException;
+  }
+}
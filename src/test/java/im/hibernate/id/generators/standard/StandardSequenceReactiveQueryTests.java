@@ -0,0 +1,127 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.reactive.pool.ReactiveConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests for {@link StandardSequenceReactiveQuery}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceReactiveQueryTests {
+
+  private ReactiveConnection connection;
+
+  @BeforeEach
+  void beforeEach() {
+    connection = mock(ReactiveConnection.class);
+  }
+
+  @Test
+  void load_processParameters_whenPostgreSQL() {
+    when(connection.selectIdentifier(anyString(), any(Object[].class), eq(Long.class)))
+        .thenReturn(CompletableFuture.completedFuture(5L));
+
+    StandardSequenceState state =
+        newQuery(new PostgreSQLDialect()).load(connection).toCompletableFuture().join();
+
+    assertThat(state.getCurrentValue()).isEqualTo(5L);
+    verify(connection)
+        .selectIdentifier(
+            "SELECT current_value FROM im_standard_sequence WHERE name = $1 FOR UPDATE",
+            new Object[] {"test"},
+            Long.class);
+  }
+
+  @Test
+  void insertIfAbsent_processParameters_whenPostgreSQL() {
+    when(connection.update(anyString(), any(Object[].class)))
+        .thenReturn(CompletableFuture.completedFuture(1));
+
+    boolean inserted =
+        newQuery(new PostgreSQLDialect())
+            .insertIfAbsent(connection, new StandardSequenceState(2L))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(inserted).isTrue();
+    Object[] parameters =
+        verifyUpdate(
+            "INSERT INTO im_standard_sequence(name, current_value, created_at) VALUES($1, $2, $3)"
+                + " ON CONFLICT (name) DO NOTHING");
+    assertThat(parameters).hasSize(3).startsWith("test", 2L);
+    assertThat(parameters[2]).isInstanceOf(LocalDateTime.class);
+  }
+
+  @Test
+  void insertIfAbsent_returnFalse_whenRowExists() {
+    when(connection.update(anyString(), any(Object[].class)))
+        .thenReturn(CompletableFuture.completedFuture(0));
+
+    boolean inserted =
+        newQuery(new H2Dialect())
+            .insertIfAbsent(connection, new StandardSequenceState(2L))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(inserted).isFalse();
+    Object[] parameters =
+        verifyUpdate(
+            "MERGE INTO im_standard_sequence USING (SELECT 1 AS one) s"
+                + " ON (im_standard_sequence.name = ?) WHEN NOT MATCHED THEN"
+                + " INSERT (name, current_value, created_at) VALUES(?, ?, ?)");
+    assertThat(parameters).hasSize(4).startsWith("test", "test", 2L);
+  }
+
+  @Test
+  void update_processParameters_whenPostgreSQL() {
+    when(connection.update(anyString(), any(Object[].class)))
+        .thenReturn(CompletableFuture.completedFuture(1));
+
+    StandardSequenceState state =
+        newQuery(new PostgreSQLDialect())
+            .update(connection, new StandardSequenceState(9L))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(state.getCurrentValue()).isEqualTo(9L);
+    Object[] parameters =
+        verifyUpdate(
+            "UPDATE im_standard_sequence SET current_value = $1, last_modified_at = $2"
+                + " WHERE name = $3");
+    assertThat(parameters).hasSize(3).startsWith(9L).endsWith("test");
+  }
+
+  private Object[] verifyUpdate(String sql) {
+    ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+    verify(connection).update(eq(sql), parameters.capture());
+    return parameters.getValue();
+  }
+
+  private static StandardSequenceReactiveQuery newQuery(Dialect dialect) {
+    return new StandardSequenceReactiveQuery(
+        new StandardSequenceQuery(
+            StandardSequenceConstants.SEQUENCE_TABLE,
+            StandardSequenceConstants.NAME_COLUMN,
+            StandardSequenceConstants.CURRENT_VALUE_COLUMN,
+            StandardSequenceConstants.CREATED_AT_COLUMN,
+            StandardSequenceConstants.LAST_MODIFIED_AT_COLUMN,
+            "test",
+            StandardSequenceTimestampMode.CLIENT),
+        dialect);
+  }
+}
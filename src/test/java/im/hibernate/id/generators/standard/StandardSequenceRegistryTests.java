@@ -0,0 +1,91 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.id.IdentifierGenerationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceRegistry}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceRegistryTests {
+
+  static class Local {
+
+    @StandardSequence(name = "test", allocationSize = 10)
+    private long id;
+
+    @StandardSequence(name = "test", allocationSize = 10)
+    private long sameId;
+
+    @StandardSequence(name = "test", allocationSize = 10, cycle = true)
+    private long cyclingId;
+
+    @StandardSequence(name = "test", sequenceTable = "other_sequence", allocationSize = 10)
+    private long otherTableId;
+  }
+
+  private final StandardSequenceRegistry registry = new StandardSequenceRegistry();
+
+  @Test
+  void dispenser_shared_whenSameSequence() throws NoSuchFieldException {
+    AtomicInteger created = new AtomicInteger();
+    StandardSequenceDispenser dispenser = mock(StandardSequenceDispenser.class);
+
+    StandardSequenceDispenser dispenser1 =
+        registry.dispenser(
+            config("id"),
+            () -> {
+              created.incrementAndGet();
+              return dispenser;
+            });
+    StandardSequenceDispenser dispenser2 =
+        registry.dispenser(
+            config("sameId"),
+            () -> {
+              created.incrementAndGet();
+              return mock(StandardSequenceDispenser.class);
+            });
+
+    assertThat(dispenser1).isSameAs(dispenser);
+    assertThat(dispenser2).isSameAs(dispenser);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  void dispenser_notShared_whenOtherSequenceTable() throws NoSuchFieldException {
+    StandardSequenceDispenser dispenser1 =
+        registry.dispenser(config("id"), () -> mock(StandardSequenceDispenser.class));
+    StandardSequenceDispenser dispenser2 =
+        registry.dispenser(config("otherTableId"), () -> mock(StandardSequenceDispenser.class));
+
+    assertThat(dispenser1).isNotSameAs(dispenser2);
+  }
+
+  @Test
+  void dispenser_throws_whenConfigMismatch() throws NoSuchFieldException {
+    registry.dispenser(config("id"), () -> mock(StandardSequenceDispenser.class));
+
+    StandardSequence cyclingConfig = config("cyclingId");
+    assertThrows(
+        IdentifierGenerationException.class,
+        () -> registry.dispenser(cyclingConfig, () -> mock(StandardSequenceDispenser.class)));
+  }
+
+  @Test
+  void allocationSizer_shared_whenSameSequence() throws NoSuchFieldException {
+    StandardSequenceAllocationSizer sizer = registry.allocationSizer(config("id"));
+
+    assertThat(registry.allocationSizer(config("sameId"))).isSameAs(sizer);
+    assertThat(registry.allocationSizer(config("otherTableId"))).isNotSameAs(sizer);
+    assertThat(sizer.allocationSize()).isEqualTo(10);
+  }
+
+  private static StandardSequence config(String fieldName) throws NoSuchFieldException {
+    return Local.class.getDeclaredField(fieldName).getAnnotation(StandardSequence.class);
+  }
+}
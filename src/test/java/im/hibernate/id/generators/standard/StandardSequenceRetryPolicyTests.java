@@ -0,0 +1,110 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.PessimisticLockException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.LockAcquisitionException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StandardSequenceRetryPolicy}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceRetryPolicyTests {
+
+  private final StandardSequenceRecorder recorder = mock(StandardSequenceRecorder.class);
+
+  @Test
+  void execute_retry_whenDeadlock() {
+    AtomicInteger attempts = new AtomicInteger();
+    StandardSequenceRetryPolicy retryPolicy = new StandardSequenceRetryPolicy("test", 3, recorder);
+
+    long value =
+        retryPolicy.execute(
+            () -> {
+              if (attempts.getAndIncrement() < 2) {
+                throw new LockAcquisitionException("test", new SQLException("test", "40001"));
+              }
+              return 10L;
+            });
+
+    assertThat(value).isEqualTo(10L);
+    assertThat(attempts).hasValue(3);
+    verify(recorder, times(2)).retried();
+  }
+
+  @Test
+  void execute_throws_whenRetriesExhausted() {
+    AtomicInteger attempts = new AtomicInteger();
+    StandardSequenceRetryPolicy retryPolicy = new StandardSequenceRetryPolicy("test", 2, recorder);
+
+    assertThrows(
+        PessimisticLockException.class,
+        () ->
+            retryPolicy.execute(
+                () -> {
+                  attempts.incrementAndGet();
+                  throw new PessimisticLockException(
+                      "test", new SQLException("test", "HYT00"), "SELECT 1");
+                }));
+    assertThat(attempts).hasValue(3);
+    verify(recorder, times(2)).retried();
+  }
+
+  @Test
+  void execute_retry_whenConflictingUpdate() {
+    AtomicInteger attempts = new AtomicInteger();
+    StandardSequenceRetryPolicy retryPolicy = new StandardSequenceRetryPolicy("test", 3, recorder);
+
+    long value =
+        retryPolicy.execute(
+            () -> {
+              if (attempts.getAndIncrement() < 1) {
+                throw new StandardSequenceRetryPolicy.ConflictException("test");
+              }
+              return 10L;
+            });
+
+    assertThat(value).isEqualTo(10L);
+    assertThat(attempts).hasValue(2);
+    verify(recorder, times(1)).retried();
+  }
+
+  @Test
+  void execute_throws_whenNotLockContention() {
+    AtomicInteger attempts = new AtomicInteger();
+    StandardSequenceRetryPolicy retryPolicy = new StandardSequenceRetryPolicy("test", 3, recorder);
+
+    assertThrows(
+        ConstraintViolationException.class,
+        () ->
+            retryPolicy.execute(
+                () -> {
+                  attempts.incrementAndGet();
+                  throw new ConstraintViolationException(
+                      "test", new SQLException("test", "23505"), "pk");
+                }));
+    assertThat(attempts).hasValue(1);
+    verify(recorder, never()).retried();
+  }
+
+  @Test
+  void isLockContention_whenWrapped() {
+    assertThat(
+            StandardSequenceRetryPolicy.isLockContention(
+                new jakarta.persistence.PessimisticLockException(
+                    "test",
+                    new LockAcquisitionException("test", new SQLException("test", "40P01")))))
+        .isTrue();
+    assertThat(StandardSequenceRetryPolicy.isLockContention(new IllegalStateException("test")))
+        .isFalse();
+  }
+}
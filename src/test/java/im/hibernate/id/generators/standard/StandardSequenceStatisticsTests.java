@@ -0,0 +1,100 @@
+package im.hibernate.id.generators.standard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import im.hibernate.id.generators.LongSequenceQuery;
+
+/**
+ * Tests for {@link StandardSequenceStatistics}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceStatisticsTests {
+
+  static class Local {
+
+    @StandardSequence(name = "test", allocationSize = 10)
+    private long id;
+
+    @StandardSequence(name = "test-striped", stripes = 2)
+    private long stripedId;
+  }
+
+  private final AtomicLong nanoClock = new AtomicLong();
+  private final StandardSequenceRecorder delegate = mock(StandardSequenceRecorder.class);
+
+  @Test
+  void handedOut_countedAndRated() throws NoSuchFieldException {
+    StandardSequenceStatistics statistics = newStatistics("id");
+
+    nanoClock.addAndGet(Duration.ofSeconds(10).toNanos());
+    statistics.handedOut(20);
+
+    assertThat(statistics.handedOut()).isEqualTo(20);
+    assertThat(statistics.handOutRate()).isEqualTo(2.0);
+    verify(delegate).handedOut(20);
+
+    // sampled once a window elapsed, so that the rate follows recent values only
+    nanoClock.addAndGet(StandardSequenceStatistics.RATE_WINDOW.toNanos());
+    assertThat(statistics.handOutRate()).isEqualTo(20.0 / 70);
+    nanoClock.addAndGet(StandardSequenceStatistics.RATE_WINDOW.toNanos());
+    statistics.handedOut(60);
+    assertThat(statistics.handOutRate()).isEqualTo(1.0);
+  }
+
+  @Test
+  void refilled_countedByLatencyBucket() throws NoSuchFieldException {
+    StandardSequenceStatistics statistics = newStatistics("id");
+
+    statistics.refilled(statistics.startRefill());
+
+    long start = statistics.startRefill();
+    nanoClock.addAndGet(Duration.ofMillis(3).toNanos());
+    statistics.refilled(start);
+
+    start = statistics.startRefill();
+    nanoClock.addAndGet(Duration.ofSeconds(2).toNanos());
+    statistics.refilled(start);
+
+    assertThat(statistics.refills()).isEqualTo(3);
+    assertThat(statistics.latencies())
+        .hasSize(StandardSequenceStatistics.LATENCY_BOUNDS_MILLIS.length + 1)
+        .containsExactly(1, 0, 1, 0, 0, 0, 0, 0, 0, 0, 1);
+  }
+
+  @Test
+  void retried_counted() throws NoSuchFieldException {
+    StandardSequenceStatistics statistics = newStatistics("id");
+
+    statistics.retried();
+
+    assertThat(statistics.retries()).isEqualTo(1);
+    verify(delegate).retried();
+  }
+
+  @Test
+  void written_lastValueOfOwnRowsOnly() throws NoSuchFieldException {
+    StandardSequenceStatistics statistics = newStatistics("stripedId");
+
+    assertThat(statistics.lastWrittenValue(1)).isEqualTo(LongSequenceQuery.NO_VALUE);
+
+    statistics.written("test-other", 5);
+    assertThat(statistics.lastWrittenValue(1)).isEqualTo(LongSequenceQuery.NO_VALUE);
+
+    statistics.written("test-striped#1", 7);
+    assertThat(statistics.lastWrittenValue(0)).isEqualTo(LongSequenceQuery.NO_VALUE);
+    assertThat(statistics.lastWrittenValue(1)).isEqualTo(7);
+    verify(delegate).written("test-other", 5);
+    verify(delegate).written("test-striped#1", 7);
+  }
+
+  private StandardSequenceStatistics newStatistics(String fieldName) throws NoSuchFieldException {
+    StandardSequence config =
+        Local.class.getDeclaredField(fieldName).getAnnotation(StandardSequence.class);
+    return new StandardSequenceStatistics(config, delegate, nanoClock::get);
+  }
+}
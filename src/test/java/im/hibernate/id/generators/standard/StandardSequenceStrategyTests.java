@@ -1,7 +1,10 @@
 package im.hibernate.id.generators.standard;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.HashSet;
+import java.util.Set;
 import org.hibernate.id.IdentifierGenerationException;
 import org.junit.jupiter.api.Test;
 
@@ -53,6 +56,92 @@ class StandardSequenceStrategyTests {
     assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
   }
 
+  @Test
+  void instantiate_throws_whenAllocationSizeLessThanEqualsZero()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", allocationSize = 0)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenMaxAllocationSizeLessThanAllocationSize()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", allocationSize = 10, maxAllocationSize = 5)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenPrefetchThresholdNotLessThanOne()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", allocationSize = 10, prefetchThreshold = 1)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenCombiningNotIsolated()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", combining = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenCombiningPooled() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          isolated = true,
+          allocationSize = 10,
+          combining = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenMaxRetriesNegative() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", maxRetries = -1)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
   @Test
   void initialState_whenIsNotDescending() throws NoSuchFieldException, SecurityException {
     class Local {
@@ -250,4 +339,395 @@ class StandardSequenceStrategyTests {
         IdentifierGenerationException.class,
         () -> strategy.nextState(new StandardSequenceState(10L)));
   }
+
+  @Test
+  void lastBlockState_whenIsAscending_blockWithinMaxValue()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10L,
+          maxValue = 100L,
+          incrementValue = 5,
+          descending = false)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+    StandardSequenceState lastState = strategy.lastBlockState(new StandardSequenceState(10L), 4);
+
+    assertThat(lastState)
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(25L);
+  }
+
+  @Test
+  void lastBlockState_whenIsAscending_blockExceedMaxValue()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10L,
+          maxValue = 22L,
+          incrementValue = 5,
+          descending = false)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+    StandardSequenceState lastState = strategy.lastBlockState(new StandardSequenceState(10L), 10);
+
+    assertThat(lastState)
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(20L);
+  }
+
+  @Test
+  void lastBlockState_whenIsAscending_distanceExceedLongMaxValue()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", initialValue = Long.MIN_VALUE)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+    StandardSequenceState lastState =
+        strategy.lastBlockState(new StandardSequenceState(Long.MIN_VALUE), 3);
+
+    assertThat(lastState)
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(Long.MIN_VALUE + 2);
+  }
+
+  @Test
+  void lastBlockState_whenIsDescending_blockExceedInitialValue()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10L,
+          maxValue = 20L,
+          incrementValue = 3,
+          descending = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+    StandardSequenceState lastState = strategy.lastBlockState(new StandardSequenceState(20L), 10);
+
+    assertThat(lastState)
+        .isNotNull()
+        .extracting(StandardSequenceState::getCurrentValue)
+        .isEqualTo(11L);
+  }
+
+  @Test
+  void remainingValues_whenIsAscending() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10L,
+          maxValue = 22L,
+          incrementValue = 5,
+          descending = false)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.remainingValues(new StandardSequenceState(10L))).isEqualTo(3L);
+    assertThat(strategy.remainingValues(new StandardSequenceState(20L))).isEqualTo(1L);
+  }
+
+  @Test
+  void remainingValues_whenIsDescending() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10L,
+          maxValue = 20L,
+          incrementValue = 3,
+          descending = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.remainingValues(new StandardSequenceState(20L))).isEqualTo(4L);
+  }
+
+  @Test
+  void remainingValues_saturated_whenExceedLongMaxValue()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", initialValue = Long.MIN_VALUE)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.remainingValues(new StandardSequenceState(Long.MIN_VALUE)))
+        .isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void instantiate_throws_whenStripesLessThanEqualsZero()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", stripes = 0)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void instantiate_throws_whenStripesExceedNumberOfValues()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", initialValue = 1, maxValue = 10, stripes = 11)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    assertThrows(IdentifierGenerationException.class, () -> new StandardSequenceStrategy(config));
+  }
+
+  @Test
+  void forStripe_whenIsAscending_cycling() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 2,
+          cycle = true,
+          stripes = 3)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy stripe = new StandardSequenceStrategy(config).forStripe(1);
+
+    StandardSequenceState state = stripe.initialState();
+    assertThat(state.getCurrentValue()).isEqualTo(12L);
+    state = stripe.nextState(state);
+    assertThat(state.getCurrentValue()).isEqualTo(18L);
+    state = stripe.nextState(state);
+    assertThat(state.getCurrentValue()).isEqualTo(12L);
+    assertThat(stripe.remainingValues(new StandardSequenceState(12L))).isEqualTo(2L);
+  }
+
+  @Test
+  void forStripe_whenIsDescending_nonCycling() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 2,
+          descending = true,
+          stripes = 3)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy stripe = new StandardSequenceStrategy(config).forStripe(2);
+
+    StandardSequenceState state = stripe.initialState();
+    assertThat(state.getCurrentValue()).isEqualTo(16L);
+    state = stripe.nextState(state);
+    assertThat(state.getCurrentValue()).isEqualTo(10L);
+    StandardSequenceState lastState = state;
+    assertThrows(IdentifierGenerationException.class, () -> stripe.nextState(lastState));
+  }
+
+  @Test
+  void forStripe_disjointValues() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", initialValue = 0, maxValue = 99, stripes = 4)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    Set<Long> values = new HashSet<>();
+    for (int i = 0; i < 4; i++) {
+      StandardSequenceStrategy stripe = strategy.forStripe(i);
+      StandardSequenceState state = stripe.initialState();
+      values.add(state.getCurrentValue());
+      for (int j = 1; j < 25; j++) {
+        state = stripe.nextState(state);
+        values.add(state.getCurrentValue());
+      }
+    }
+    assertThat(values).hasSize(100).allMatch(value -> value >= 0 && value <= 99);
+  }
+
+  @Test
+  void values_whenIsAscending_cycling() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 5,
+          cycle = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.values(new StandardSequenceState(15L), 3)).containsExactly(15L, 20L, 10L);
+  }
+
+  @Test
+  void values_whenIsDescending_cycling() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 5,
+          descending = true,
+          cycle = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.values(new StandardSequenceState(10L), 3)).containsExactly(10L, 20L, 15L);
+  }
+
+  @Test
+  void values_throws_whenCountExceedValuesOfOneCycle()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 5,
+          cycle = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThrows(
+        IdentifierGenerationException.class,
+        () -> strategy.values(new StandardSequenceState(10L), 4));
+  }
+
+  @Test
+  void values_throws_whenIsAscending_nonCycling_exhausted()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(name = "test-sequence", initialValue = 10, maxValue = 20)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.values(new StandardSequenceState(18L), 3)).containsExactly(18L, 19L, 20L);
+    assertThrows(
+        IdentifierGenerationException.class,
+        () -> strategy.values(new StandardSequenceState(18L), 4));
+  }
+
+  @Test
+  void nextValue_sameAsNextState() throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 20,
+          incrementValue = 5,
+          cycle = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.initialValue()).isEqualTo(strategy.initialState().getCurrentValue());
+    assertThat(strategy.nextValue(15L)).isEqualTo(20L);
+    assertThat(strategy.nextValue(20L)).isEqualTo(10L);
+  }
+
+  @Test
+  void blocks_splitAtBound_whenIsAscending_cycling()
+      throws NoSuchFieldException, SecurityException {
+    class Local {
+
+      @StandardSequence(
+          name = "test-sequence",
+          initialValue = 10,
+          maxValue = 100,
+          incrementValue = 10,
+          cycle = true)
+      long id;
+    }
+
+    StandardSequence config =
+        Local.class.getDeclaredField("id").getAnnotation(StandardSequence.class);
+    StandardSequenceStrategy strategy = new StandardSequenceStrategy(config);
+
+    assertThat(strategy.blocks(new StandardSequenceState(30L), 3))
+        .extracting(StandardSequenceBlock::getFirstValue, StandardSequenceBlock::getLastValue)
+        .containsExactly(tuple(30L, 50L));
+    assertThat(strategy.blocks(new StandardSequenceState(80L), 6))
+        .extracting(StandardSequenceBlock::getFirstValue, StandardSequenceBlock::getLastValue)
+        .containsExactly(tuple(80L, 100L), tuple(10L, 30L));
+  }
 }
@@ -63,4 +63,54 @@ class StandardSequenceTests {
   void cycle_defaultValue() {
     assertThat(annotation.cycle()).isFalse();
   }
+
+  @Test
+  void backend_defaultValue() {
+    assertThat(annotation.backend()).isEqualTo(StandardSequenceBackend.TABLE);
+  }
+
+  @Test
+  void timestamps_defaultValue() {
+    assertThat(annotation.timestamps()).isEqualTo(StandardSequenceTimestampMode.CLIENT);
+  }
+
+  @Test
+  void allocationSize_defaultValue() {
+    assertThat(annotation.allocationSize()).isOne();
+  }
+
+  @Test
+  void maxAllocationSize_defaultValue() {
+    assertThat(annotation.maxAllocationSize()).isZero();
+  }
+
+  @Test
+  void isolated_defaultValue() {
+    assertThat(annotation.isolated()).isFalse();
+  }
+
+  @Test
+  void combining_defaultValue() {
+    assertThat(annotation.combining()).isFalse();
+  }
+
+  @Test
+  void updateMode_defaultValue() {
+    assertThat(annotation.updateMode()).isEqualTo(StandardSequenceUpdateMode.SELECT_FOR_UPDATE);
+  }
+
+  @Test
+  void maxRetries_defaultValue() {
+    assertThat(annotation.maxRetries()).isEqualTo(10);
+  }
+
+  @Test
+  void prefetchThreshold_defaultValue() {
+    assertThat(annotation.prefetchThreshold()).isZero();
+  }
+
+  @Test
+  void stripes_defaultValue() {
+    assertThat(annotation.stripes()).isEqualTo(1);
+  }
 }
@@ -2,15 +2,23 @@ package im.hibernate.id.generators.support;
 
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.util.List;
 import org.hibernate.boot.ResourceStreamLocator;
 import org.hibernate.boot.spi.AdditionalMappingContributions;
 import org.hibernate.boot.spi.InFlightMetadataCollector;
 import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.mapping.PersistentClass;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import im.hibernate.id.generators.standard.StandardSequence;
+import im.hibernate.id.generators.standard.StandardSequenceBackend;
 import im.hibernate.id.generators.standard.StandardSequenceDatabaseObject;
+import im.hibernate.id.generators.standard.StandardSequenceNativeDatabaseObject;
 
 /**
  * Tests for {@link DatabaseObjectsContributor}
@@ -43,4 +51,48 @@ class DatabaseObjectContributorTests {
 
     verify(metadataCollector).addAuxiliaryDatabaseObject(isA(StandardSequenceDatabaseObject.class));
   }
+
+  static class TableEntity {
+
+    @StandardSequence(name = "table-sequence")
+    private Long id;
+  }
+
+  static class NativeEntity {
+
+    private Long id;
+
+    @StandardSequence(name = "native-sequence", backend = StandardSequenceBackend.NATIVE_SEQUENCE)
+    public Long getId() {
+      return id;
+    }
+  }
+
+  @Test
+  void registeredNativeSequenceDatabaseObject_whenNativeSequenceBackend() {
+    PersistentClass tableEntity = mock(PersistentClass.class);
+    PersistentClass nativeEntity = mock(PersistentClass.class);
+    doReturn(TableEntity.class).when(tableEntity).getMappedClass();
+    doReturn(NativeEntity.class).when(nativeEntity).getMappedClass();
+    when(metadataCollector.getEntityBindings()).thenReturn(List.of(tableEntity, nativeEntity));
+
+    contributor.contribute(
+        contributions, metadataCollector, resourceStreamLocator, buildingContext);
+
+    verify(metadataCollector, times(1))
+        .addAuxiliaryDatabaseObject(isA(StandardSequenceNativeDatabaseObject.class));
+  }
+
+  @Test
+  void notRegisteredNativeSequenceDatabaseObject_whenTableBackend() {
+    PersistentClass tableEntity = mock(PersistentClass.class);
+    doReturn(TableEntity.class).when(tableEntity).getMappedClass();
+    when(metadataCollector.getEntityBindings()).thenReturn(List.of(tableEntity));
+
+    contributor.contribute(
+        contributions, metadataCollector, resourceStreamLocator, buildingContext);
+
+    verify(metadataCollector, never())
+        .addAuxiliaryDatabaseObject(isA(StandardSequenceNativeDatabaseObject.class));
+  }
 }
@@ -0,0 +1,145 @@
+package im.hibernate.id.generators.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Set;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import im.hibernate.id.generators.standard.StandardSequence;
+import im.hibernate.id.generators.standard.StandardSequenceConstants;
+import im.hibernate.id.generators.standard.StandardSequenceGenerator;
+import im.hibernate.id.generators.standard.StandardSequenceMXBean;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Integration tests for {@link StandardSequenceJmxIntegrator}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceJmxIntegratorIntegrationTests {
+
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Entity
+  static class TestJmxEntity {
+    @Id
+    @StandardSequence(name = "test-jmx", maxValue = 100L, allocationSize = 10)
+    private Long id;
+  }
+
+  @Test
+  void sessionFactory_registerMXBeans_whenJmxEnabled() throws Exception {
+    ObjectName name;
+    try (SessionFactory sessionFactory = buildSessionFactory("jmx-enabled", true)) {
+      Set<ObjectName> names = mBeanServer.queryNames(pattern("jmx-enabled"), null);
+      assertThat(names).hasSize(1);
+      name = names.iterator().next();
+      StandardSequenceMXBean mxBean =
+          JMX.newMXBeanProxy(mBeanServer, name, StandardSequenceMXBean.class);
+
+      assertThat(mxBean.getSequenceName()).isEqualTo("test-jmx");
+      assertThat(mxBean.getSequenceTable()).isEqualTo(StandardSequenceConstants.SEQUENCE_TABLE);
+      assertThat(mxBean.getRemainingValues()).isEqualTo(-1);
+      assertThat(mxBean.getProjectedSecondsToExhaustion()).isEqualTo(-1);
+
+      persist(sessionFactory, 3);
+
+      // values 1 to 3 handed out from the block 1 to 10
+      assertThat(mxBean.getCachedRange()).containsExactly(4L, 10L);
+      assertThat(mxBean.getValuesHandedOut()).isEqualTo(3);
+      assertThat(mxBean.getHandOutRate()).isPositive();
+      assertThat(mxBean.getRefills()).isEqualTo(1);
+      assertThat(mxBean.getRefillRate()).isPositive();
+      assertThat(mxBean.getRetries()).isZero();
+      assertThat(mxBean.getAllocationLatencyBoundsMillis())
+          .hasSize(mxBean.getAllocationLatencyCounts().length - 1);
+      assertThat(Arrays.stream(mxBean.getAllocationLatencyCounts()).sum()).isEqualTo(1);
+      assertThat(mxBean.getRemainingValues()).isEqualTo(97);
+      assertThat(mxBean.getProjectedSecondsToExhaustion()).isNotNegative();
+
+      mxBean.setAllocationSize(20);
+      mxBean.flush();
+
+      assertThat(mxBean.getCachedRange()).isEmpty();
+      assertThat(mxBean.getRemainingValues()).isEqualTo(90);
+
+      persist(sessionFactory, 1);
+
+      assertThat(mxBean.getCachedRange()).containsExactly(12L, 30L);
+      assertThat(mxBean.getAllocationSize()).isEqualTo(20);
+      assertThat(mxBean.getRefills()).isEqualTo(2);
+    }
+
+    assertThat(mBeanServer.isRegistered(name)).isFalse();
+  }
+
+  @Test
+  void sessionFactory_registerNoMXBeans_whenJmxDisabled() throws Exception {
+    try (SessionFactory sessionFactory = buildSessionFactory("jmx-disabled", false)) {
+      assertThat(mBeanServer.queryNames(pattern("jmx-disabled"), null)).isEmpty();
+
+      // no statistics are collected for an MXBean nobody reads
+      StandardSequenceGenerator generator =
+          (StandardSequenceGenerator)
+              sessionFactory
+                  .unwrap(SessionFactoryImplementor.class)
+                  .getMappingMetamodel()
+                  .getEntityDescriptor(TestJmxEntity.class)
+                  .getGenerator();
+      assertThatThrownBy(generator::management).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private static SessionFactory buildSessionFactory(String name, boolean jmxEnabled) {
+    StandardServiceRegistry serviceRegistry =
+        new StandardServiceRegistryBuilder()
+            .applySetting("hibernate.connection.driver_class", "org.h2.Driver")
+            .applySetting("hibernate.connection.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+            .applySetting("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+            .applySetting("hibernate.hbm2ddl.auto", "create")
+            .applySetting("hibernate.session_factory_name", name)
+            .applySetting("hibernate.session_factory_name_is_jndi", "false")
+            .applySetting(StandardSequenceJmxIntegrator.JMX_ENABLED, String.valueOf(jmxEnabled))
+            .build();
+
+    return new MetadataSources(serviceRegistry)
+        .addAnnotatedClasses(TestJmxEntity.class)
+        .buildMetadata()
+        .buildSessionFactory();
+  }
+
+  private static void persist(SessionFactory sessionFactory, int count) {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      for (int i = 0; i < count; i++) {
+        session.persist(new TestJmxEntity());
+      }
+      session.getTransaction().commit();
+    }
+  }
+
+  private static ObjectName pattern(String sessionFactoryName) throws Exception {
+    return new ObjectName(
+        StandardSequenceJmxIntegrator.DOMAIN
+            + ":type=StandardSequence,sessionFactory="
+            + ObjectName.quote(sessionFactoryName)
+            + ",*");
+  }
+}
@@ -0,0 +1,176 @@
+package im.hibernate.id.generators.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import im.hibernate.id.generators.standard.StandardSequence;
+import im.hibernate.id.generators.standard.StandardSequenceRecorder;
+import im.hibernate.id.generators.standard.StandardSequenceRecorder.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for {@link StandardSequenceMicrometerMetrics}.
+ *
+ * @author Andy Lian
+ */
+class StandardSequenceMicrometerMetricsTests {
+
+  static class Local {
+
+    @StandardSequence(name = "test", maxValue = 100, incrementValue = 2, cycle = true)
+    private long id;
+
+    @StandardSequence(name = "striped", initialValue = 10, maxValue = 100, stripes = 2)
+    private long stripedId;
+
+    @StandardSequence(
+        name = "descending",
+        initialValue = 10,
+        maxValue = 100,
+        descending = true,
+        cycle = true)
+    private long descendingId;
+  }
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final StandardSequenceMicrometerMetrics metrics =
+      new StandardSequenceMicrometerMetrics(meterRegistry);
+
+  @Test
+  void recorder_shared_whenSameSequence() throws NoSuchFieldException {
+    assertThat(metrics.recorder(config("id"))).isSameAs(metrics.recorder(config("id")));
+    assertThat(metrics.recorder(config("id")))
+        .isNotSameAs(metrics.recorder(config("descendingId")));
+  }
+
+  @Test
+  void record_timeAndCountRoundTrips() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("id"));
+
+    recorder.record(Operation.LOAD, recorder.start());
+    recorder.record(Operation.UPDATE, recorder.start());
+    recorder.record(Operation.UPDATE, recorder.start());
+
+    assertThat(operations("load")).isEqualTo(1);
+    assertThat(operations("insert")).isZero();
+    assertThat(operations("update")).isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get(StandardSequenceMicrometerMetrics.ROUND_TRIPS)
+                .tag("name", "test")
+                .tag("table", "im_standard_sequence")
+                .counter()
+                .count())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void handedOut_countValues() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("id"));
+
+    recorder.handedOut(1);
+    recorder.handedOut(50);
+
+    assertThat(
+            meterRegistry
+                .get(StandardSequenceMicrometerMetrics.VALUES)
+                .tag("name", "test")
+                .counter()
+                .count())
+        .isEqualTo(51);
+  }
+
+  @Test
+  void retried_countRetries() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("id"));
+
+    recorder.retried();
+    recorder.retried();
+
+    assertThat(
+            meterRegistry
+                .get(StandardSequenceMicrometerMetrics.RETRIES)
+                .tag("name", "test")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void written_countWrapsAndRemainingValues() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("id"));
+    assertThat(remaining("test")).isNaN();
+
+    recorder.written("test", 90);
+    assertThat(remaining("test")).isEqualTo(5);
+
+    recorder.written("test", 98);
+    recorder.written("test", 0);
+    assertThat(remaining("test")).isEqualTo(50);
+    assertThat(wraps("test")).isEqualTo(1);
+  }
+
+  @Test
+  void written_countWrapsPerRow() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("id"));
+
+    recorder.written("test-0", 40);
+    recorder.written("test-1", 2);
+    recorder.written("test-0", 42);
+    recorder.written("test-1", 4);
+
+    assertThat(wraps("test")).isZero();
+  }
+
+  @Test
+  void written_sumRemainingValuesOverStripes_whenStriped() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("stripedId"));
+
+    recorder.written("striped#0", 10);
+    // unknown until each stripe was written
+    assertThat(remaining("striped")).isNaN();
+
+    recorder.written("striped#1", 21);
+    // 12 to 100 on the even stripe, 23 to 99 on the odd one
+    assertThat(remaining("striped")).isEqualTo(45 + 39);
+  }
+
+  @Test
+  void written_countWrapsAndRemainingValues_whenDescending() throws NoSuchFieldException {
+    StandardSequenceRecorder recorder = metrics.recorder(config("descendingId"));
+
+    recorder.written("descending", 12);
+    assertThat(remaining("descending")).isEqualTo(2);
+
+    recorder.written("descending", 100);
+    assertThat(wraps("descending")).isEqualTo(1);
+  }
+
+  private double operations(String operation) {
+    return meterRegistry
+        .get(StandardSequenceMicrometerMetrics.OPERATIONS)
+        .tag("name", "test")
+        .tag("operation", operation)
+        .timer()
+        .count();
+  }
+
+  private double remaining(String name) {
+    return meterRegistry
+        .get(StandardSequenceMicrometerMetrics.REMAINING)
+        .tag("name", name)
+        .gauge()
+        .value();
+  }
+
+  private double wraps(String name) {
+    return meterRegistry
+        .get(StandardSequenceMicrometerMetrics.WRAPS)
+        .tag("name", name)
+        .counter()
+        .count();
+  }
+
+  private static StandardSequence config(String field) throws NoSuchFieldException {
+    return Local.class.getDeclaredField(field).getAnnotation(StandardSequence.class);
+  }
+}